@@ -0,0 +1,70 @@
+package com.society.backend.benchmarks;
+
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.model.Complaint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One page of complaints rendered to JSON: the full entity graph (GET /society/{id}) against the
+// flat summary DTOs of the feed, plus the cost of mapping entities to those DTOs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ComplaintSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<Complaint> complaints;
+    private List<ComplaintSummaryDto> summaries;
+
+    @Setup
+    public void setUp() {
+        complaints = Fixtures.complaints(pageSize);
+        summaries = toSummaries(complaints);
+    }
+
+    @Benchmark
+    public String serializeEntityGraph() {
+        return jsonMapper.writeValueAsString(complaints);
+    }
+
+    @Benchmark
+    public String serializeSummaries() {
+        return jsonMapper.writeValueAsString(summaries);
+    }
+
+    @Benchmark
+    public List<ComplaintSummaryDto> mapToSummaries() {
+        return toSummaries(complaints);
+    }
+
+    // Same shape the feed query's constructor expression builds
+    private static List<ComplaintSummaryDto> toSummaries(List<Complaint> complaints) {
+        return complaints.stream()
+                .map(c -> new ComplaintSummaryDto(
+                        c.getId(), c.getTitle(), c.getDescription(), c.getCategory(), c.getStatus(), c.getSeverity(),
+                        c.getImageUrl(), c.getUpvotes(), c.getCreatedAt(),
+                        c.getUser().getId(), c.getUser().getFullName(), c.getUser().getFlatNo(),
+                        c.getAssignedVendor() != null ? c.getAssignedVendor().getId() : null,
+                        c.getAssignedVendor() != null ? c.getAssignedVendor().getFullName() : null))
+                .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.society.backend.benchmarks;
+
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds backend objects without a Spring context: @Value fields and @PostConstruct hooks are set/called directly
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static void set(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+
+    static void call(Object target, String methodName) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(methodName);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot call " + methodName, e);
+        }
+    }
+
+    // A society feed page the way the list endpoint returns it: every complaint with its society, author and vendor
+    static List<Complaint> complaints(int count) {
+        Society society = new Society();
+        society.setId(1L);
+        society.setName("Green Valley");
+        society.setAddress("12 Park Road");
+        society.setTotalWings(4);
+        society.setTotalFloors(12);
+        society.setTotalFlats(192);
+        society.setAmenities(List.of("Gym", "Pool", "Clubhouse", "Garden"));
+
+        User vendor = user(society, 1000L, "VENDOR");
+        List<Complaint> complaints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Complaint complaint = new Complaint();
+            complaint.setId((long) i);
+            complaint.setSociety(society);
+            complaint.setUser(user(society, (long) i, "RESIDENT"));
+            complaint.setAssignedVendor(i % 2 == 0 ? vendor : null);
+            complaint.setTitle("Water leaking from the ceiling in flat " + i);
+            complaint.setDescription("Since yesterday evening water has been dripping near the kitchen light fitting.");
+            complaint.setCategory("PLUMBING");
+            complaint.setSeverity("HIGH");
+            complaint.setStatus("OPEN");
+            complaint.setImageUrl("https://cdn.example.com/media/" + i + ".mp4");
+            complaint.setUpvotes(i % 7);
+            complaint.setCreatedAt(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i));
+            complaint.setUpdatedAt(complaint.getCreatedAt());
+            complaints.add(complaint);
+        }
+        return complaints;
+    }
+
+    private static User user(Society society, Long id, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setSociety(society);
+        user.setFullName("Resident " + id);
+        user.setEmail("resident" + id + "@example.com");
+        user.setPhoneNumber("+91 98765 4" + String.format("%04d", id % 10_000));
+        user.setFlatNo("A-" + id);
+        user.setRole(role);
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuJ0Zy3oHc0aP3hT7cV6Y2m9qVQ5m6c1i");
+        return user;
+    }
+}
@@ -0,0 +1,68 @@
+package com.society.backend.benchmarks;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.society.backend.util.JwtPrincipal;
+import com.society.backend.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of issuing a token at login and of checking it on every authenticated request, both the
+// cached path (a token seen before) and a full HMAC + claims parse (first request with a token)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil nonCachingJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = jwtUtil();
+        nonCachingJwtUtil = jwtUtil();
+        // Evicts every entry right away, on the calling thread, so each verify() parses the token again
+        Fixtures.set(nonCachingJwtUtil, "verifiedTokens", Caffeine.newBuilder().maximumSize(0).executor(Runnable::run).build());
+        token = cachingJwtUtil.generateToken("resident1@example.com", 1L, "RESIDENT");
+        cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken("resident1@example.com", 1L, "RESIDENT");
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> verifyCached() {
+        return cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> verifyUncached() {
+        return nonCachingJwtUtil.verify(token);
+    }
+
+    private static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        Fixtures.set(jwtUtil, "jwtSecret", SECRET);
+        Fixtures.set(jwtUtil, "cacheSize", 10_000L);
+        Fixtures.call(jwtUtil, "init");
+        return jwtUtil;
+    }
+}
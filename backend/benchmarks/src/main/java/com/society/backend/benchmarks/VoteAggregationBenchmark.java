@@ -0,0 +1,185 @@
+package com.society.backend.benchmarks;
+
+import com.society.backend.repository.ComplaintRepository;
+import com.society.backend.repository.ComplaintVoteRepository;
+import com.society.backend.service.ComplaintStatsService;
+import com.society.backend.service.VoteAggregationBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// How long a resident waits for an upvote to be acknowledged through VoteAggregationBuffer while many
+// vote at once, for different flush intervals (votes.buffer.flush-interval-ms). The database is a
+// zero-cost stub that accepts every vote, so the latency is the flush interval plus the buffer's own
+// queuing, batching and hand-off overhead; a real database adds one batch write per complaint per flush.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class VoteAggregationBenchmark {
+
+    private static final int COMPLAINTS = 50;
+
+    @Param({"1", "5", "20"})
+    public long flushIntervalMs;
+
+    private final AtomicLong voters = new AtomicLong();
+    private VoteAggregationBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new StubDataSource());
+        NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+        buffer = new VoteAggregationBuffer(
+                jdbcTemplate,
+                transactionManager,
+                stub(ComplaintRepository.class),
+                stub(ComplaintVoteRepository.class),
+                new ComplaintStatsService(jdbcTemplate, transactionManager));
+        Fixtures.set(buffer, "enabled", true);
+        Fixtures.set(buffer, "flushIntervalMs", flushIntervalMs);
+        Fixtures.set(buffer, "maxPending", 100_000);
+        Fixtures.set(buffer, "ackTimeoutMs", 5_000L);
+        Fixtures.call(buffer, "start");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.call(buffer, "stop");
+    }
+
+    @Benchmark
+    public int vote() {
+        long voter = voters.incrementAndGet();
+        return buffer.vote(voter % COMPLAINTS, voter);
+    }
+
+    // Repositories: escalateIfPending -> 0, insertVoteAndIncrement -> 1 (vote accepted)
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == Integer.class) {
+                return 1;
+            }
+            if (returnType == boolean.class) {
+                return proxy == args[0];
+            }
+            return returnType == String.class ? type.getSimpleName() + "Stub" : null;
+        });
+    }
+
+    // Answers the batch statement as if every voter in the bigint[] parameter was new
+    private static final class StubDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return jdbc(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+                case "prepareStatement" -> preparedStatement();
+                case "createArrayOf" -> array((Object[]) args[1]);
+                default -> defaultValue(method.getReturnType());
+            });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+
+        private static PreparedStatement preparedStatement() {
+            Array[] voters = new Array[1];
+            return jdbc(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+                case "setArray" -> {
+                    voters[0] = (Array) args[1];
+                    yield null;
+                }
+                case "executeQuery" -> resultSet(voters[0]);
+                default -> defaultValue(method.getReturnType());
+            });
+        }
+
+        private static ResultSet resultSet(Array voters) {
+            boolean[] consumed = new boolean[1];
+            return jdbc(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+                case "next" -> {
+                    boolean hasRow = !consumed[0];
+                    consumed[0] = true;
+                    yield hasRow;
+                }
+                case "getInt" -> ((Object[]) voters.getArray()).length;
+                case "getArray" -> voters;
+                default -> defaultValue(method.getReturnType());
+            });
+        }
+
+        private static Array array(Object[] elements) {
+            return jdbc(Array.class, (proxy, method, args) ->
+                    method.getName().equals("getArray") ? elements : defaultValue(method.getReturnType()));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T jdbc(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
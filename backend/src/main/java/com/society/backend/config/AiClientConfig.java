@@ -0,0 +1,110 @@
+package com.society.backend.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+@Configuration
+public class AiClientConfig {
+
+    // The URL where your Python Flask app is running
+    @Value("${ai.service.base-url}")
+    private String baseUrl;
+
+    @Value("${ai.service.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    // Video analysis on Gemini can legitimately take a while, but never forever
+    @Value("${ai.service.read-timeout-ms:90000}")
+    private long readTimeoutMs;
+
+    @Value("${ai.service.max-connections:8}")
+    private int maxConnections;
+
+    @Value("${ai.service.max-concurrent-calls:8}")
+    private int maxConcurrentCalls;
+
+    @Value("${ai.service.max-wait-ms:500}")
+    private long maxWaitMs;
+
+    @Value("${ai.service.circuit.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${ai.service.circuit.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    // One shared, keep-alive client instead of a new RestTemplate per call
+    @Bean
+    public CloseableHttpClient aiHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(maxWaitMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestClient aiRestClient(CloseableHttpClient aiHttpClient, ObservationRegistry observationRegistry) {
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                // http.client.requests{uri,status,outcome} for the raw HTTP exchange with the AI service
+                .observationRegistry(observationRegistry)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(aiHttpClient))
+                .build();
+    }
+
+    // Fails fast while the AI service is down instead of letting every call hit the timeout
+    @Bean
+    public CircuitBreaker aiCircuitBreaker() {
+        return CircuitBreaker.of("aiService", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(5)
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(2)
+                // Our own concurrency limit being hit says nothing about the AI service's health
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+    }
+
+    // Caps how many threads can be inside an AI call at the same time
+    @Bean
+    public Bulkhead aiBulkhead() {
+        return Bulkhead.of("aiService", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build());
+    }
+}
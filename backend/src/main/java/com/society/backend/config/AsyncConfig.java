@@ -0,0 +1,44 @@
+package com.society.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${ai.verification.pool-size:4}")
+    private int verificationPoolSize;
+
+    @Value("${ai.verification.queue-capacity:500}")
+    private int verificationQueueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Bounded pool for the slow AI media checks. It never touches a DB connection while
+    // waiting on the AI service, so a backlog here cannot starve the Hikari pool.
+    @Bean
+    public ThreadPoolTaskExecutor aiVerificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ai-verify-");
+        if (virtualThreads) {
+            // Workers spend almost all their time waiting on the AI service: park them on virtual
+            // threads. The pool size and queue still bound how much work is in flight.
+            executor.setThreadFactory(Thread.ofVirtual().name("ai-verify-", 1).factory());
+        }
+        executor.setCorePoolSize(verificationPoolSize);
+        executor.setMaxPoolSize(verificationPoolSize);
+        executor.setQueueCapacity(verificationQueueCapacity);
+        // Reject instead of running on the caller: the sweeper re-queues anything we drop
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,13 @@
+package com.society.backend.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Read-through caches (see spring.cache.* in application.properties). The provider is picked by
+// spring.cache.type, so a shared cache (e.g. redis) can replace the local Caffeine one without code changes.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SOCIETIES = "societies";
+}
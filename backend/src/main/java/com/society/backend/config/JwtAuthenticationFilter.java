@@ -0,0 +1,64 @@
+package com.society.backend.config;
+
+import com.society.backend.util.JwtPrincipal;
+import com.society.backend.util.JwtUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Stateless Bearer-token authentication. Not a @Component on purpose: it is only added to the
+// security filter chain (see SecurityConfig), not registered as a second servlet filter.
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // The browser's EventSource can't set headers, so the live event stream (and nothing else) may pass the
+    // token as a parameter. Anywhere else a token in the URL would only end up in access logs and histories.
+    private static final RequestMatcher QUERY_TOKEN_ROUTE = PathPatternRequestMatcher.withDefaults()
+            .matcher(HttpMethod.GET, "/api/complaints/society/*/events");
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = bearerToken(request);
+        if (token != null) {
+            jwtUtil.verify(token).ifPresent(this::authenticate);
+        }
+        // No or invalid token: carry on unauthenticated, SecurityConfig decides whether that's allowed
+        filterChain.doFilter(request, response);
+    }
+
+    private static String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        if (QUERY_TOKEN_ROUTE.matches(request)) {
+            return request.getParameter("access_token");
+        }
+        return null;
+    }
+
+    private void authenticate(JwtPrincipal principal) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.role())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
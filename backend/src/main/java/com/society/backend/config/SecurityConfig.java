@@ -1,13 +1,21 @@
 package com.society.backend.config;
 
+import com.society.backend.util.JwtUtil;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -18,8 +26,30 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Requests to the actuator port (management.server.port). It is meant to be reachable from inside the
+    // deployment only, so Prometheus can scrape it without a token; the other endpoints still need one.
+    // Nothing on the public port is opened by this chain.
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http, JwtUtil jwtUtil,
+                                                     @Value("${server.port}") int serverPort,
+                                                     @Value("${management.server.port}") int managementPort) throws Exception {
+        http
+            .securityMatcher(request -> managementPort != serverPort && request.getLocalPort() == managementPort)
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .anyRequest().authenticated()
+            );
+
+        return http.build();
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil) throws Exception {
         http
             // 1. Disable CSRF (essential for non-browser clients like Postman)
             .csrf(csrf -> csrf.disable())
@@ -30,15 +60,29 @@ public class SecurityConfig {
             // 3. Stateless Session (because we are building a REST API, not a website with cookies)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
-            // 4. URL Permissions
+            // 4. Verify the Bearer token on every request (signature check is cached per token in JwtUtil)
+            .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
+
+            // Missing/invalid token on a protected route -> 401 instead of the default 403
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
+            // 5. URL Permissions
             .authorizeHttpRequests(auth -> auth
-                // ALLOW EVERYTHING FOR DEV/TESTING
-                // This means any URL starting with /api/ is public.
-                // Later, when we go to production, we will change this to .authenticated()
-                .requestMatchers("/api/**").permitAll()
-                
+                // Getting a token (or an account/society to log into) can't require one
+                .requestMatchers(HttpMethod.POST, "/api/users/login", "/api/users/register", "/api/societies/register").permitAll()
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Async re-dispatches of an already authorized request (live event streams completing)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // Allow Swagger UI (if you add it later)
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**").permitAll()
+                .requestMatchers("/actuator/health/**").permitAll()
+
+                // Bulk writes and dispatch touch a whole society at once: admins only
+                .requestMatchers("/api/complaints/bulk", "/api/complaints/status/bulk", "/api/complaints/society/*/dispatch").hasRole("ADMIN")
+
+                // Everything else under /api/ needs a valid token
+                .requestMatchers("/api/**").authenticated()
                 
                 // Block everything else that isn't an API (good security practice)
                 .anyRequest().authenticated()
@@ -47,13 +91,14 @@ public class SecurityConfig {
         return http.build();
     }
 
-    // 5. Password Encoder (We need this to encrypt passwords before saving to DB)
+    // 6. Password Encoder (We need this to encrypt passwords before saving to DB)
+    // Changing auth.bcrypt.strength is safe: existing hashes are re-hashed on the user's next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
-    // 6. Global CORS Configuration (Allows your Frontend to talk to Backend)
+    // 7. Global CORS Configuration (Allows your Frontend to talk to Backend)
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
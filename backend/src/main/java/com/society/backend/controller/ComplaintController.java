@@ -1,14 +1,30 @@
 package com.society.backend.controller;
 
+import com.society.backend.dto.BulkResponse;
 import com.society.backend.dto.ComplaintDto;
+import com.society.backend.dto.ComplaintFeedResponse;
+import com.society.backend.dto.ComplaintStatsDto;
+import com.society.backend.dto.ComplaintSummaryDto;
 import com.society.backend.model.Complaint;
+import com.society.backend.exception.ServiceBusyException;
+import com.society.backend.service.ComplaintBulkService;
+import com.society.backend.service.ComplaintEventStream;
+import com.society.backend.service.ComplaintSearchService;
 import com.society.backend.service.ComplaintService;
+import com.society.backend.service.UserService;
+import com.society.backend.service.VendorWorkQueueService;
+import com.society.backend.util.JwtPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/complaints")
@@ -16,30 +32,120 @@ import java.util.List;
 public class ComplaintController {
 
     private final ComplaintService complaintService;
+    private final ComplaintEventStream complaintEventStream;
+    private final ComplaintBulkService complaintBulkService;
+    private final ComplaintSearchService complaintSearchService;
+    private final VendorWorkQueueService vendorWorkQueueService;
+    private final UserService userService;
 
-    // Route for Residents to post an issue
+    // Route for Residents to post an issue, as the user of the token
     @PostMapping
-    public ResponseEntity<?> createComplaint(@Valid @RequestBody ComplaintDto dto) {
+    public ResponseEntity<?> createComplaint(@Valid @RequestBody ComplaintDto dto,
+                                             @AuthenticationPrincipal JwtPrincipal principal) {
         try {
+            dto.setUserId(principal.userId());
             Complaint complaint = complaintService.createComplaint(dto);
-            return ResponseEntity.ok(complaint);
+            ComplaintSummaryDto summary = complaintService.getSummary(complaint.getId());
+            summary.setMergedDuplicate(complaint.getMergedDuplicate());
+            return ResponseEntity.ok(summary);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    // Bulk import for admins: a JSON array of complaints (optionally with their original status and
+    // createdAt), read as a stream. Returns one result per row: the new id, or why it was skipped.
+    // Admins import into their own society only.
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResponse> importComplaints(InputStream body, @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(complaintBulkService.importComplaints(body, userService.getSocietyId(principal.userId())));
+    }
+
+    // Bulk status change: a JSON array of {"complaintId": 1, "status": "RESOLVED"}, one result per row.
+    // Complaints outside the admin's society are skipped.
+    @PutMapping(value = "/status/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResponse> updateStatuses(InputStream body, @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(complaintBulkService.updateStatuses(body, userService.getSocietyId(principal.userId())));
+    }
+
     // Route for Admins to view the society's dashboard
     @GetMapping("/society/{societyId}")
     public ResponseEntity<List<Complaint>> getComplaints(@PathVariable Long societyId) {
         return ResponseEntity.ok(complaintService.getComplaintsBySociety(societyId));
     }
 
-    // Resident upvotes a complaint
-    @PostMapping("/{complaintId}/upvote/{userId}")
-    public ResponseEntity<?> upvoteComplaint(@PathVariable Long complaintId, @PathVariable Long userId) {
+    // Paginated feed: newest first, optional filters, pass nextCursor back as ?cursor= for the next page
+    @GetMapping("/society/{societyId}/feed")
+    public ResponseEntity<?> getComplaintFeed(
+            @PathVariable Long societyId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
-            Complaint updatedComplaint = complaintService.upvoteComplaint(complaintId, userId);
-            return ResponseEntity.ok(updatedComplaint);
+            ComplaintFeedResponse feed = complaintService.getComplaintFeed(societyId, status, category, severity, cursor, limit);
+            return ResponseEntity.ok(feed);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Full-text search, best match first, with the feed's filters; pass nextCursor back as ?cursor=
+    @GetMapping("/society/{societyId}/search")
+    public ResponseEntity<?> searchComplaints(
+            @PathVariable Long societyId,
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            ComplaintFeedResponse results = complaintSearchService.search(societyId, q, status, category, severity, cursor, limit);
+            return ResponseEntity.ok(results);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Open complaints that look like the one being written, so the resident can upvote instead of filing a duplicate
+    @GetMapping("/society/{societyId}/similar")
+    public ResponseEntity<List<ComplaintSummaryDto>> findSimilarComplaints(
+            @PathVariable Long societyId,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(complaintSearchService.findSimilarOpen(societyId, title, description, category));
+    }
+
+    // Dashboard counters: totals by status, category and severity, precomputed per society
+    @GetMapping("/society/{societyId}/stats")
+    public ResponseEntity<ComplaintStatsDto> getComplaintStats(@PathVariable Long societyId) {
+        return ResponseEntity.ok(complaintService.getComplaintStats(societyId));
+    }
+
+    // Live updates for the society's complaints (Server-Sent Events: CREATED, UPVOTED, STATUS_CHANGED,
+    // VENDOR_ASSIGNED, each carrying the complaint's current summary). Reconnects resume from Last-Event-ID;
+    // a "resync" event means updates were missed and the list should be reloaded once.
+    @GetMapping(value = "/society/{societyId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamEvents(
+            @PathVariable Long societyId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(complaintEventStream.subscribe(societyId, lastEventId));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    // Resident upvotes a complaint: the vote is the token's user's
+    @PostMapping("/{complaintId}/upvote")
+    public ResponseEntity<?> upvoteComplaint(@PathVariable Long complaintId,
+                                             @AuthenticationPrincipal JwtPrincipal principal) {
+        try {
+            Complaint updatedComplaint = complaintService.upvoteComplaint(complaintId, principal.userId());
+            return ResponseEntity.ok(complaintService.getSummary(updatedComplaint.getId()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -50,21 +156,45 @@ public class ComplaintController {
     public ResponseEntity<?> updateStatus(@PathVariable Long complaintId, @RequestParam String status) {
         try {
             Complaint updatedComplaint = complaintService.updateComplaintStatus(complaintId, status);
-            return ResponseEntity.ok(updatedComplaint);
+            return ResponseEntity.ok(complaintService.getSummary(updatedComplaint.getId()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}/assign/{vendorId}")
-    public ResponseEntity<Complaint> assignVendor(
+    public ResponseEntity<ComplaintSummaryDto> assignVendor(
             @PathVariable Long id, 
             @PathVariable Long vendorId) {
         try {
             Complaint updatedComplaint = complaintService.assignVendor(id, vendorId);
-            return ResponseEntity.ok(updatedComplaint);
+            return ResponseEntity.ok(complaintService.getSummary(updatedComplaint.getId()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(null);
         }
     }
-}
\ No newline at end of file
+
+    // A vendor's work queue: its in-progress complaints by priority (severity, upvotes, age); pass nextCursor back as ?cursor=
+    @GetMapping("/vendor/{vendorId}/queue")
+    public ResponseEntity<?> getVendorQueue(
+            @PathVariable Long vendorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(vendorWorkQueueService.getWorkQueue(vendorId, cursor, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Assigns the society's open complaints to its least busy vendors now, instead of waiting for the scheduler.
+    // Only the admin's own society can be dispatched.
+    @PostMapping("/society/{societyId}/dispatch")
+    public ResponseEntity<Map<String, Integer>> dispatchToVendors(@PathVariable Long societyId,
+                                                                  @AuthenticationPrincipal JwtPrincipal principal) {
+        if (!societyId.equals(userService.getSocietyId(principal.userId()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("assigned", vendorWorkQueueService.dispatch(societyId)));
+    }
+}
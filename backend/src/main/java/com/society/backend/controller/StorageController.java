@@ -1,7 +1,13 @@
 package com.society.backend.controller;
 
+import com.society.backend.dto.CompleteMultipartRequest;
+import com.society.backend.dto.PresignUploadRequest;
+import com.society.backend.exception.ServiceBusyException;
 import com.society.backend.service.StorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,8 +27,74 @@ public class StorageController {
             String fileUrl = storageService.uploadFile(file);
             // Returns {"url": "https://..."}
             return ResponseEntity.ok(Map.of("url", fileUrl));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to upload file: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Raw request body upload (no multipart encoding): the body is piped to the bucket part by part,
+    // so large videos never sit in memory or in a servlet temp file
+    @PostMapping("/upload-stream")
+    public ResponseEntity<?> uploadStream(
+            HttpServletRequest request,
+            @RequestHeader(value = "X-File-Name", required = false) String fileName) {
+        try {
+            String fileUrl = storageService.uploadStream(request.getInputStream(), fileName, request.getContentType());
+            return ResponseEntity.ok(Map.of("url", fileUrl));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to upload file: " + e.getMessage()));
+        }
+    }
+
+    // Returns a presigned PUT URL so the client uploads straight to the bucket
+    @PostMapping("/presign")
+    public ResponseEntity<?> presignUpload(@Valid @RequestBody PresignUploadRequest request) {
+        if (request.getSize() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "File size is required"));
+        }
+        try {
+            return ResponseEntity.ok(storageService.presignUpload(request.getFileName(), request.getContentType(), request.getSize()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to prepare upload: " + e.getMessage()));
+        }
+    }
+
+    // Large videos: starts a multipart upload and returns one presigned URL per part
+    @PostMapping("/presign/multipart")
+    public ResponseEntity<?> presignMultipartUpload(@Valid @RequestBody PresignUploadRequest request) {
+        if (request.getSize() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "File size is required for multipart uploads"));
+        }
+        try {
+            return ResponseEntity.ok(storageService.presignMultipartUpload(
+                    request.getFileName(), request.getContentType(), request.getSize()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to prepare upload: " + e.getMessage()));
+        }
+    }
+
+    // The client posts the part ETags back once every part is uploaded
+    @PostMapping("/presign/multipart/complete")
+    public ResponseEntity<?> completeMultipartUpload(@Valid @RequestBody CompleteMultipartRequest request) {
+        try {
+            String fileUrl = storageService.completeMultipartUpload(request);
+            return ResponseEntity.ok(Map.of("url", fileUrl));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to complete upload: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/presign/multipart")
+    public ResponseEntity<?> abortMultipartUpload(@RequestParam String key, @RequestParam String uploadId) {
+        try {
+            storageService.abortMultipartUpload(key, uploadId);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Failed to abort upload: " + e.getMessage()));
+        }
+    }
+}
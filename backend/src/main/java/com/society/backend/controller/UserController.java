@@ -1,8 +1,12 @@
 package com.society.backend.controller;
 
 import com.society.backend.dto.UserDto;
+import com.society.backend.exception.ServiceBusyException;
+import com.society.backend.exception.TooManyRequestsException;
+import com.society.backend.dto.UserSummaryDto;
 import com.society.backend.model.User;
 import com.society.backend.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,10 +35,14 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
-            LoginResponse response = userService.login(request);
+            LoginResponse response = userService.login(request, httpRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(429).body(e.getMessage());
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(503).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(e.getMessage());
         }
@@ -45,8 +53,13 @@ public class UserController {
         return ResponseEntity.ok(userService.getUsersBySociety(societyId));
     }
 
-    @GetMapping("/role/{role}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable String role) {
-        return ResponseEntity.ok(userService.getUsersByRole(role));
+    // Society-scoped, paginated role lookup (e.g. the vendor dropdown)
+    @GetMapping("/society/{societyId}/role/{role}")
+    public ResponseEntity<List<UserSummaryDto>> getUsersBySocietyAndRole(
+            @PathVariable Long societyId,
+            @PathVariable String role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userService.getUsersBySocietyAndRole(societyId, role, page, size));
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.society.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// One complaint of a bulk import (POST /api/complaints/bulk)
+@Data
+public class BulkComplaintRow {
+    @NotNull(message = "Society ID is required")
+    private Long societyId;
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    private String severity = "LOW";
+
+    private String imageUrl;
+
+    @Pattern(regexp = "PENDING_VERIFICATION|OPEN|IN_PROGRESS|RESOLVED|REJECTED", flags = Pattern.Flag.CASE_INSENSITIVE,
+            message = "Status must be one of PENDING_VERIFICATION, OPEN, IN_PROGRESS, RESOLVED, REJECTED")
+    private String status = "PENDING_VERIFICATION";
+
+    private LocalDateTime createdAt; // Original date of a historical complaint, import time if missing
+}
@@ -0,0 +1,26 @@
+package com.society.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkResponse {
+    private int succeeded;
+    private int failed;
+    private List<BulkRowResult> results = new ArrayList<>();
+    // Set when the request stopped early (malformed JSON, too many rows): rows before it are saved
+    private String error;
+
+    public void add(BulkRowResult result) {
+        results.add(result);
+        if (result.getError() == null) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+}
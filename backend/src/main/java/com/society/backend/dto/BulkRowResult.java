@@ -0,0 +1,23 @@
+package com.society.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Outcome of one row of a bulk request: the complaint id, or why the row was skipped
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRowResult {
+    private int index; // Position of the row in the request, from 0
+    private Long id;
+    private String error;
+
+    public static BulkRowResult ok(int index, Long id) {
+        return new BulkRowResult(index, id, null);
+    }
+
+    public static BulkRowResult failed(int index, String error) {
+        return new BulkRowResult(index, null, error);
+    }
+}
@@ -0,0 +1,18 @@
+package com.society.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+// One status change of a bulk update (PUT /api/complaints/status/bulk)
+@Data
+public class BulkStatusRow {
+    @NotNull(message = "Complaint ID is required")
+    private Long complaintId;
+
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "PENDING_VERIFICATION|OPEN|IN_PROGRESS|RESOLVED|REJECTED", flags = Pattern.Flag.CASE_INSENSITIVE,
+            message = "Status must be one of PENDING_VERIFICATION, OPEN, IN_PROGRESS, RESOLVED, REJECTED")
+    private String status;
+}
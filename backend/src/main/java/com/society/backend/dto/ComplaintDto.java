@@ -9,8 +9,7 @@ public class ComplaintDto {
     @NotNull(message = "Society ID is required")
     private Long societyId;
 
-    @NotNull(message = "User ID is required")
-    private Long userId;
+    private Long userId; // The author: set from the caller's token, never read from the request body
 
     @NotBlank(message = "Title is required")
     private String title;
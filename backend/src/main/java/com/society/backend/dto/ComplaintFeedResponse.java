@@ -0,0 +1,13 @@
+package com.society.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ComplaintFeedResponse {
+    private List<ComplaintSummaryDto> items;
+    private String nextCursor; // Pass back as ?cursor= to get the next page, null on the last page
+}
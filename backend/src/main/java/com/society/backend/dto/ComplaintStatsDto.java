@@ -0,0 +1,17 @@
+package com.society.backend.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Dashboard totals for one society, read from the precomputed complaint_stats rows
+@Data
+public class ComplaintStatsDto {
+    private Long societyId;
+    private long total;
+    private long upvotes;
+    private Map<String, Long> byStatus = new TreeMap<>();
+    private Map<String, Long> byCategory = new TreeMap<>();
+    private Map<String, Long> bySeverity = new TreeMap<>();
+}
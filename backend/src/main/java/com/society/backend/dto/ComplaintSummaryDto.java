@@ -0,0 +1,54 @@
+package com.society.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Slim, flat view of a complaint for list screens (no nested User/Society entities)
+@Data
+@NoArgsConstructor
+public class ComplaintSummaryDto {
+    private Long id;
+    private String title;
+    private String description;
+    private String category;
+    private String status;
+    private String severity;
+    private String imageUrl;
+    private int upvotes;
+    private LocalDateTime createdAt;
+
+    private Long userId;
+    private String userName;
+    private String flatNo;
+
+    private Long assignedVendorId; // Null until a vendor is assigned
+    private String assignedVendorName;
+
+    // Set in the create response when the post was merged into this complaint as an upvote (see ComplaintService)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean mergedDuplicate;
+
+    // The columns of the summary queries (ComplaintRepository, ComplaintSearchService.SUMMARY)
+    public ComplaintSummaryDto(Long id, String title, String description, String category, String status,
+                               String severity, String imageUrl, int upvotes, LocalDateTime createdAt,
+                               Long userId, String userName, String flatNo,
+                               Long assignedVendorId, String assignedVendorName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.status = status;
+        this.severity = severity;
+        this.imageUrl = imageUrl;
+        this.upvotes = upvotes;
+        this.createdAt = createdAt;
+        this.userId = userId;
+        this.userName = userName;
+        this.flatNo = flatNo;
+        this.assignedVendorId = assignedVendorId;
+        this.assignedVendorName = assignedVendorName;
+    }
+}
@@ -0,0 +1,31 @@
+package com.society.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CompleteMultipartRequest {
+    @NotBlank(message = "Key is required")
+    private String key;
+
+    @NotBlank(message = "Upload ID is required")
+    private String uploadId;
+
+    @Valid
+    @NotEmpty(message = "At least one part is required")
+    private List<Part> parts;
+
+    @Data
+    public static class Part {
+        @NotNull
+        private Integer partNumber;
+
+        @NotBlank
+        private String etag; // The ETag header the bucket returned for this part's PUT
+    }
+}
@@ -0,0 +1,24 @@
+package com.society.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MultipartUploadResponse {
+    private String key;
+    private String uploadId;
+    private long partSize; // Every part except the last must be exactly this many bytes
+    private List<PartUrl> parts;
+    private Instant expiresAt;
+
+    @Data
+    @AllArgsConstructor
+    public static class PartUrl {
+        private int partNumber;
+        private String uploadUrl;
+    }
+}
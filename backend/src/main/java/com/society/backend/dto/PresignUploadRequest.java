@@ -0,0 +1,15 @@
+package com.society.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class PresignUploadRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    private Long size; // Signed into the upload URL(s); multipart uploads also work out the number of parts from it
+}
@@ -0,0 +1,15 @@
+package com.society.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class PresignUploadResponse {
+    private String key;
+    private String uploadUrl; // PUT the file here with the same Content-Type
+    private String publicUrl; // Use this as the complaint's imageUrl once the PUT succeeded
+    private Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.society.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lightweight user row for pickers/dropdowns (e.g. choosing a vendor), no Society graph attached
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private Long id;
+    private String fullName;
+    private String email;
+    private String phoneNumber;
+    private String flatNo;
+    private String role;
+}
@@ -0,0 +1,10 @@
+package com.society.backend.event;
+
+// Published by ComplaintService whenever a complaint is created or changes in a way residents see;
+// ComplaintEventStream pushes it to the society's live subscribers once the change is committed
+public record ComplaintChangedEvent(Type type, Long complaintId, Long societyId) {
+
+    public enum Type {
+        CREATED, UPVOTED, STATUS_CHANGED, VENDOR_ASSIGNED
+    }
+}
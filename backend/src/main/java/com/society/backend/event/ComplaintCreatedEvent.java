@@ -0,0 +1,5 @@
+package com.society.backend.event;
+
+// Published by ComplaintService once a new complaint row has been saved
+public record ComplaintCreatedEvent(Long complaintId, boolean hasMedia) {
+}
@@ -0,0 +1,8 @@
+package com.society.backend.event;
+
+import java.util.Set;
+
+// Published after a bulk import or status update: too many changes to push one by one, so live
+// subscribers of these societies are told to reload instead
+public record ComplaintsBulkChangedEvent(Set<Long> societyIds) {
+}
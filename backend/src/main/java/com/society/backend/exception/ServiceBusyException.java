@@ -0,0 +1,8 @@
+package com.society.backend.exception;
+
+// Thrown when a bounded worker pool is full; controllers answer it with 503 so clients back off
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
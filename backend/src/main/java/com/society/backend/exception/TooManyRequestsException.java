@@ -0,0 +1,8 @@
+package com.society.backend.exception;
+
+// Thrown when a caller is over its rate limit; controllers answer it with 429
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
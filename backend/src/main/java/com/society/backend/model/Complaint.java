@@ -1,26 +1,38 @@
 package com.society.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.Data;
-import org.hibernate.annotations.CreationTimestamp;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "complaints")
 @Data
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Complaint {
 
+    // Ids are drawn 50 at a time from the identity column's sequence (see V3), so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "complaints_id")
+    @SequenceGenerator(name = "complaints_id", sequenceName = "complaints_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // Associations are LAZY: each query says what it needs (see the @EntityGraph queries in ComplaintRepository)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "society_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Society society;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false) // The resident who posted it
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @Column(nullable = false)
@@ -40,15 +52,39 @@ public class Complaint {
 
     private int upvotes = 0;
 
-    @ManyToOne
+    // Content hash of the media, used to recognise re-uploads of the same photo/video (see V6)
+    @JsonIgnore
+    @Column(name = "media_fingerprint")
+    private String mediaFingerprint;
+
+    // Set in the create response when the post was recognised as a duplicate of this complaint and
+    // counted as an upvote on it instead of being saved
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean mergedDuplicate;
+
+    // Result of the background AI media check: null until the worker has run
+    @Column(name = "ai_verified")
+    private Boolean aiVerified;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_vendor_id") // Can be null initially
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User assignedVendor;
 
-    @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Set on insert unless already given (bulk imports keep a historical complaint's original date)
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
@@ -1,15 +1,18 @@
 package com.society.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "societies")
 @Data // Lombok automatically generates Getters, Setters, and toString
-public class Society {
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Society implements Serializable { // Serializable so it can live in a shared (out-of-process) cache
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,13 +1,22 @@
 package com.society.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Serves the society-scoped role lookups (vendor dropdown, auto-assignment)
+    @Index(name = "idx_users_society_role", columnList = "society_id, role")
+})
 @Data
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
     @Id
@@ -15,8 +24,10 @@ public class User {
     private Long id;
 
     // This connects the User to a Society
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "society_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Society society;
 
     @Column(name = "full_name", nullable = false)
@@ -34,7 +45,9 @@ public class User {
     @Column(name = "flat_no")
     private String flatNo; // Can be null for Vendors
 
-    @Column(name = "password") // We will hash this later
+    @Column(name = "password") // BCrypt hash, never sent to clients
+    @JsonIgnore
+    @ToString.Exclude
     private String password;
 
     @Column(name = "reputation_score")
@@ -43,4 +56,13 @@ public class User {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // Roles are always stored uppercase so lookups can use a plain (indexed) equality match
+    @PrePersist
+    @PreUpdate
+    void normalizeRole() {
+        if (role != null) {
+            role = role.toUpperCase(Locale.ROOT);
+        }
+    }
 }
\ No newline at end of file
@@ -1,10 +1,90 @@
 package com.society.backend.repository;
 
+import com.society.backend.dto.ComplaintSummaryDto;
 import com.society.backend.model.Complaint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     // Custom query to fetch complaints isolated by Society ID
+    // The graph fetch-joins everything the JSON response touches, so the list costs one query however long it is
+    @EntityGraph(attributePaths = {"society", "society.amenities", "user", "assignedVendor"})
     List<Complaint> findBySocietyId(Long societyId);
-}
\ No newline at end of file
+
+    // Keyset-paginated feed, newest first. The cursor is the (createdAt, id) of the last row already seen,
+    // so every page is an index range scan no matter how deep the client scrolls. The row-value comparison
+    // is what lets PostgreSQL use (createdAt, id) as one index bound; the OR form only bounds createdAt.
+    @Query("""
+            select new com.society.backend.dto.ComplaintSummaryDto(
+                c.id, c.title, c.description, c.category, c.status, c.severity, c.imageUrl, c.upvotes, c.createdAt,
+                u.id, u.fullName, u.flatNo, v.id, v.fullName)
+            from Complaint c
+            join c.user u
+            left join c.assignedVendor v
+            where c.society.id = :societyId
+              and (:status is null or c.status = :status)
+              and (:category is null or c.category = :category)
+              and (:severity is null or c.severity = :severity)
+              and (c.createdAt, c.id) < (:cursorCreatedAt, :cursorId)
+            order by c.createdAt desc, c.id desc
+            """)
+    List<ComplaintSummaryDto> findFeedPage(@Param("societyId") Long societyId,
+                                           @Param("status") String status,
+                                           @Param("category") String category,
+                                           @Param("severity") String severity,
+                                           @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    // Same flat view for a single complaint (pushed to live feed subscribers after every change)
+    @Query("""
+            select new com.society.backend.dto.ComplaintSummaryDto(
+                c.id, c.title, c.description, c.category, c.status, c.severity, c.imageUrl, c.upvotes, c.createdAt,
+                u.id, u.fullName, u.flatNo, v.id, v.fullName)
+            from Complaint c
+            join c.user u
+            left join c.assignedVendor v
+            where c.id = :id
+            """)
+    Optional<ComplaintSummaryDto> findSummaryById(@Param("id") Long id);
+
+    // Row-locked read for status changes: the complaint stats must see every transition exactly once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Complaint c where c.id = :id")
+    Optional<Complaint> findByIdForUpdate(@Param("id") Long id);
+
+    // Conditional updates so a verdict is only ever applied once, even if the worker runs twice
+    @Modifying
+    @Query("update Complaint c set c.aiVerified = true where c.id = :id and c.aiVerified is null")
+    int markVerified(@Param("id") Long id);
+
+    // Only a complaint still PENDING_VERIFICATION is rejected; one the residents or the SLA already opened
+    // (or an admin moved on) keeps its status and just records the verdict, so it is never checked again.
+    // Callers read the status under findByIdForUpdate first, so they know which of the two happened.
+    @Modifying
+    @Query("""
+            update Complaint c set c.aiVerified = false, c.updatedAt = local datetime,
+                c.status = case when c.status = 'PENDING_VERIFICATION' then 'REJECTED' else c.status end
+            where c.id = :id and c.aiVerified is null
+            """)
+    int markRejected(@Param("id") Long id);
+
+    // Only the request that moves the complaint out of PENDING_VERIFICATION gets 1 back
+    @Modifying
+    @Query("update Complaint c set c.status = 'OPEN' where c.id = :id and c.status = 'PENDING_VERIFICATION'")
+    int escalateIfPending(@Param("id") Long id);
+
+    // Complaints with media that never got a verdict (worker queue full, node restarted, ...)
+    @Query("select c.id from Complaint c where c.aiVerified is null and c.imageUrl is not null and c.createdAt < :before order by c.createdAt")
+    List<Long> findUnverifiedMediaIds(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -4,8 +4,26 @@ import com.society.backend.model.Complaint;
 import com.society.backend.model.ComplaintVote;
 import com.society.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ComplaintVoteRepository extends JpaRepository<ComplaintVote, Long> {
     // Check if this specific user already voted on this specific complaint
     boolean existsByComplaintAndUser(Complaint complaint, User user);
-}
\ No newline at end of file
+
+    // Records the vote and bumps the counter in a single statement. The unique (complaint_id, user_id)
+    // constraint does the double-vote check, and the increment happens in the database, so concurrent
+    // voters can never lose each other's updates. Returns the new count, or null if the user already voted.
+    @Query(value = """
+            WITH vote AS (
+                INSERT INTO complaint_votes (complaint_id, user_id, created_at)
+                VALUES (:complaintId, :userId, now())
+                ON CONFLICT (complaint_id, user_id) DO NOTHING
+                RETURNING complaint_id
+            )
+            UPDATE complaints SET upvotes = upvotes + 1, updated_at = now()
+            WHERE id = (SELECT complaint_id FROM vote)
+            RETURNING upvotes
+            """, nativeQuery = true)
+    Integer insertVoteAndIncrement(@Param("complaintId") Long complaintId, @Param("userId") Long userId);
+}
@@ -1,6 +1,7 @@
 package com.society.backend.repository;
 
 import com.society.backend.model.Society;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,8 @@ import java.util.Optional;
 public interface SocietyRepository extends JpaRepository<Society, Long> {
     // Custom query to find a society by name (to prevent duplicates)
     Optional<Society> findByName(String name);
+
+    // Loads the amenities in the same query, so the society can be cached and serialized without a session
+    @EntityGraph(attributePaths = "amenities")
+    Optional<Society> findWithAmenitiesById(Long id);
 }
\ No newline at end of file
@@ -1,12 +1,45 @@
 package com.society.backend.repository;
 
+import com.society.backend.dto.UserSummaryDto;
 import com.society.backend.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+    @EntityGraph(attributePaths = {"society", "society.amenities"})
     List<User> findBySocietyId(Long societyId);
-}
\ No newline at end of file
+
+    // The society a caller acts for, without loading the user
+    @Query("select u.society.id from User u where u.id = :id")
+    Optional<Long> findSocietyIdById(@Param("id") Long id);
+
+    // Index-backed (society_id, role) lookup returning only the columns a picker needs
+    @Query("""
+            select new com.society.backend.dto.UserSummaryDto(u.id, u.fullName, u.email, u.phoneNumber, u.flatNo, u.role)
+            from User u
+            where u.society.id = :societyId and u.role = :role
+            order by u.fullName, u.id
+            """)
+    List<UserSummaryDto> findSummariesBySocietyAndRole(@Param("societyId") Long societyId,
+                                                       @Param("role") String role,
+                                                       Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Adjust the score in the database so concurrent rewards/penalties don't overwrite each other
+    @Modifying
+    @Query("update User u set u.reputationScore = u.reputationScore + :delta where u.id = :id")
+    int adjustReputation(@Param("id") Long id, @Param("delta") int delta);
+}
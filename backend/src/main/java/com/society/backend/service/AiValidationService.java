@@ -1,21 +1,63 @@
 package com.society.backend.service;
 
-import org.springframework.http.ResponseEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class AiValidationService {
 
-    // The URL where your Python Flask app is running
-    private static final String AI_SERVICE_URL = "http://localhost:5000/verify-video";
+    @Qualifier("aiRestClient")
+    private final RestClient aiRestClient;
 
+    private final CircuitBreaker aiCircuitBreaker;
+    private final Bulkhead aiBulkhead;
+    private final MediaFingerprintService mediaFingerprintService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.verification.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${ai.verification.cache.ttl-hours:24}")
+    private long cacheTtlHours;
+
+    // Verdicts keyed by media content + category + description, so re-submitted media skips the video analysis
+    private Cache<String, Boolean> verdictCache;
+
+    @PostConstruct
+    void initCache() {
+        verdictCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofHours(cacheTtlHours))
+                .recordStats()
+                .build();
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, ... on the actuator metrics endpoint
+        CaffeineCacheMetrics.monitor(meterRegistry, verdictCache, "aiVerdicts");
+    }
+
+    @SuppressWarnings("unchecked")
     public Map<String, Object> verifyComplaintMedia(String mediaUrl, String category, String description) {
-        RestTemplate restTemplate = new RestTemplate();
-        
         // Prepare the JSON payload for Python
         Map<String, String> requestPayload = new HashMap<>();
         // Note: Even if we call the Java variable 'imageUrl', we send it as 'video_url' to match Python
@@ -23,33 +65,80 @@ public class AiValidationService {
         requestPayload.put("category", category);
         requestPayload.put("description", description);
 
+        Supplier<Map<String, Object>> call = () -> aiRestClient.post()
+                .uri("/verify-video")
+                .body(requestPayload)
+                .retrieve()
+                .body(Map.class);
+
+        // ai.service.calls{outcome}: how long verification waits on the AI service, and how those waits end
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
-            // Send POST request to Python AI
-            ResponseEntity<Map> response = restTemplate.postForEntity(AI_SERVICE_URL, requestPayload, Map.class);
-            return response.getBody();
+            // Send POST request to Python AI (circuit breaker first, so an open circuit never waits for a permit)
+            return CircuitBreaker.decorateSupplier(aiCircuitBreaker, Bulkhead.decorateSupplier(aiBulkhead, call)).get();
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit_open";
+            log.warn("AI Service circuit is open, skipping verification");
+            return null;
+        } catch (BulkheadFullException e) {
+            outcome = "bulkhead_full";
+            log.warn("Too many concurrent AI Service calls, skipping verification");
+            return null;
         } catch (Exception e) {
-            System.err.println("Failed to connect to AI Service: " + e.getMessage());
+            outcome = "error";
+            log.error("Failed to connect to AI Service: {}", e.getMessage());
             return null; // Return null if AI is down, so we don't crash the whole app
+        } finally {
+            sample.stop(Timer.builder("ai.service.calls")
+                    .description("Calls to the AI verification service")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
     }
 
-    // FIXED: Now actually processes the AI response
-    public boolean validateComplaint(String imageUrl) {
+    // The AI's verdict, or null when there is none (AI down, circuit open, unexpected answer): the
+    // complaint then stays unverified and the worker's sweeper asks again once the AI is back
+    public Boolean validateComplaint(String imageUrl, String category, String description) {
+        String cacheKey = mediaFingerprintService.fingerprint(imageUrl)
+                + "|" + category
+                + "|" + MediaFingerprintService.sha256(normalize(description));
+        Boolean cached = verdictCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            recordVerdict("cached");
+            return cached;
+        }
+
         // 1. Call the Python AI service 
-        // (Passing generic category/description since this method only receives the URL right now)
-        Map<String, Object> response = verifyComplaintMedia(imageUrl, "GENERAL", "Automated AI validation check");
+        Map<String, Object> response = verifyComplaintMedia(imageUrl, category, description);
         
         // 2. Safely extract the "is_valid" boolean from the Python JSON response
         if (response != null && response.containsKey("is_valid")) {
             Object isValidObj = response.get("is_valid");
-            if (isValidObj instanceof Boolean) {
-                return (Boolean) isValidObj;
+            if (isValidObj instanceof Boolean isValid) {
+                // Only real verdicts are cached
+                verdictCache.put(cacheKey, isValid);
+                recordVerdict(isValid ? "valid" : "invalid");
+                return isValid;
             }
         }
         
-        // 3. Fallback: If the Python server is offline, we return true. 
-        // This ensures residents can still post emergencies even if the AI is temporarily down.
-        // The admin will just have to manually verify it.
-        return true; 
+        // 3. No verdict. Residents' complaints are already posted (the check runs in the background),
+        // so nothing is gained by guessing: don't reward or penalise anyone until the AI has answered.
+        recordVerdict("unavailable");
+        return null;
+    }
+
+    private void recordVerdict(String verdict) {
+        meterRegistry.counter("ai.verification.verdicts", "verdict", verdict).increment();
+    }
+
+    // Case and whitespace differences shouldn't defeat the cache
+    private static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        return description.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
     }
-}
\ No newline at end of file
+}
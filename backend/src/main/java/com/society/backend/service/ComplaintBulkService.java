@@ -0,0 +1,295 @@
+package com.society.backend.service;
+
+import com.society.backend.dto.BulkComplaintRow;
+import com.society.backend.dto.BulkResponse;
+import com.society.backend.dto.BulkRowResult;
+import com.society.backend.dto.BulkStatusRow;
+import com.society.backend.event.ComplaintsBulkChangedEvent;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.User;
+import com.society.backend.repository.ComplaintRepository;
+import com.society.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk import and bulk status changes for admins moving over from spreadsheets. The JSON array is
+// read one row at a time and handled in chunks, so memory stays flat however big the upload is:
+// each chunk of imports is one transaction with batched inserts, each chunk of status changes a
+// single UPDATE. Every row gets its own result; a bad row is reported and skipped, not fatal.
+@Slf4j
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class ComplaintBulkService {
+
+    // Applies a whole chunk in one round-trip and returns the rows that exist in the admin's society,
+    // with their previous status (read under the row lock) for the complaint stats
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE complaints c SET status = u.status, updated_at = now()
+            FROM unnest(?::bigint[], ?::text[]) AS u(id, status),
+                 (SELECT id, status FROM complaints WHERE id = ANY (?::bigint[]) AND society_id = ? FOR UPDATE) old
+            WHERE c.id = u.id AND old.id = u.id AND c.society_id = ?
+            RETURNING c.id, c.society_id, old.status AS old_status, c.status, c.category, c.severity, c.upvotes
+            """;
+
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final ComplaintRepository complaintRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ComplaintStatsService complaintStatsService;
+
+    @Value("${complaints.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${complaints.bulk.max-rows:100000}")
+    private int maxRows;
+
+    public ComplaintBulkService(JsonMapper jsonMapper,
+                                Validator validator,
+                                ComplaintRepository complaintRepository,
+                                UserRepository userRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                EntityManager entityManager,
+                                ComplaintStatsService complaintStatsService) {
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.complaintRepository = complaintRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.complaintStatsService = complaintStatsService;
+    }
+
+    // Imported complaints skip the per-row AI check: rows still PENDING_VERIFICATION with media are
+    // picked up by the verification sweeper in the background, like any complaint whose check never ran.
+    // Only rows for the admin's own society (adminSocietyId), posted by its residents, are imported.
+    public BulkResponse importComplaints(InputStream body, Long adminSocietyId) {
+        Set<Long> societyIds = new HashSet<>();
+        BulkResponse response = readInChunks(body, BulkComplaintRow.class,
+                (chunk, firstIndex, result) -> importChunk(chunk, firstIndex, result, adminSocietyId, societyIds));
+        publishBulkChange(societyIds);
+        return response;
+    }
+
+    // Complaints of other societies are skipped, reported like complaints that don't exist
+    public BulkResponse updateStatuses(InputStream body, Long adminSocietyId) {
+        Set<Long> societyIds = new HashSet<>();
+        BulkResponse response = readInChunks(body, BulkStatusRow.class,
+                (chunk, firstIndex, result) -> updateChunk(chunk, firstIndex, result, adminSocietyId, societyIds));
+        publishBulkChange(societyIds);
+        return response;
+    }
+
+    private <T> BulkResponse readInChunks(InputStream body, Class<T> rowType, ChunkHandler<T> handler) {
+        BulkResponse response = new BulkResponse();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        // A top-level array is read element by element, never as a whole
+        try (MappingIterator<T> rows = jsonMapper.readerFor(rowType).readValues(body)) {
+            while (rows.hasNextValue()) {
+                if (index == maxRows) {
+                    response.setError("Too many rows: at most " + maxRows + " are accepted per request");
+                    break;
+                }
+                chunk.add(rows.nextValue());
+                index++;
+                if (chunk.size() == chunkSize) {
+                    handler.handle(chunk, index - chunk.size(), response);
+                    chunk.clear();
+                }
+            }
+        } catch (JacksonException e) {
+            response.setError("Malformed JSON after row " + index + ": " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            handler.handle(chunk, index - chunk.size(), response);
+        }
+        return response;
+    }
+
+    private void importChunk(List<BulkComplaintRow> chunk, int firstIndex, BulkResponse response, Long adminSocietyId,
+                             Set<Long> societyIds) {
+        List<BulkRowResult> results = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // One query for every author in the chunk
+                Set<Long> userIds = new HashSet<>();
+                chunk.forEach(row -> userIds.add(row.getUserId()));
+                userIds.remove(null);
+                Map<Long, User> users = new HashMap<>();
+                userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+
+                List<Complaint> toSave = new ArrayList<>();
+                List<Integer> toSaveIndexes = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    BulkComplaintRow row = chunk.get(i);
+                    String error = firstViolation(row);
+                    if (error == null && !adminSocietyId.equals(row.getSocietyId())) {
+                        error = "Complaints can only be imported into your own society";
+                    }
+                    User user = error == null ? users.get(row.getUserId()) : null;
+                    if (error == null && user == null) {
+                        error = "User not found";
+                    } else if (error == null && !user.getSociety().getId().equals(row.getSocietyId())) {
+                        error = "User does not belong to society " + row.getSocietyId();
+                    }
+                    if (error != null) {
+                        results.add(BulkRowResult.failed(firstIndex + i, error));
+                    } else {
+                        toSave.add(toComplaint(row, user));
+                        toSaveIndexes.add(firstIndex + i);
+                    }
+                }
+
+                // Ids come from the pooled sequence, so these go out as batched inserts at flush
+                complaintRepository.saveAll(toSave);
+                complaintRepository.flush();
+                ComplaintStatsService.Deltas deltas = new ComplaintStatsService.Deltas();
+                for (int i = 0; i < toSave.size(); i++) {
+                    Complaint complaint = toSave.get(i);
+                    results.add(BulkRowResult.ok(toSaveIndexes.get(i), complaint.getId()));
+                    societyIds.add(complaint.getSociety().getId());
+                    deltas.add(complaint.getSociety().getId(), complaint.getStatus(), complaint.getCategory(),
+                            complaint.getSeverity(), 1, 0);
+                }
+                complaintStatsService.apply(deltas);
+                // Should a caller's transaction span several chunks, its persistence context would outlive
+                // each one: without this every flush would re-check every complaint imported so far
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Bulk import of rows {}-{} failed", firstIndex, firstIndex + chunk.size() - 1, e);
+            results.clear();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkRowResult.failed(firstIndex + i, "Not saved, its chunk failed: " + e.getMessage()));
+            }
+        }
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        results.forEach(response::add);
+    }
+
+    private Complaint toComplaint(BulkComplaintRow row, User user) {
+        Complaint complaint = new Complaint();
+        complaint.setTitle(row.getTitle());
+        complaint.setDescription(row.getDescription());
+        complaint.setCategory(row.getCategory());
+        complaint.setSeverity(ComplaintService.normalizeSeverity(row.getSeverity()));
+        complaint.setImageUrl(row.getImageUrl());
+        complaint.setStatus(row.getStatus() != null ? row.getStatus().toUpperCase(Locale.ROOT) : "PENDING_VERIFICATION");
+        // A complaint imported past verification was already dealt with: the sweeper must not check it again
+        if (!"PENDING_VERIFICATION".equals(complaint.getStatus())) {
+            complaint.setAiVerified(true);
+        }
+        complaint.setCreatedAt(row.getCreatedAt());
+        complaint.setUser(user);
+        complaint.setSociety(user.getSociety());
+        return complaint;
+    }
+
+    private void updateChunk(List<BulkStatusRow> chunk, int firstIndex, BulkResponse response, Long adminSocietyId,
+                             Set<Long> societyIds) {
+        BulkRowResult[] results = new BulkRowResult[chunk.size()];
+        // complaintId -> position in the chunk; a later row for the same complaint wins
+        Map<Long, Integer> latest = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkStatusRow row = chunk.get(i);
+            String error = firstViolation(row);
+            if (error != null) {
+                results[i] = BulkRowResult.failed(firstIndex + i, error);
+                continue;
+            }
+            Integer earlier = latest.put(row.getComplaintId(), i);
+            if (earlier != null) {
+                results[earlier] = BulkRowResult.failed(firstIndex + earlier, "Overridden by row " + (firstIndex + i));
+            }
+        }
+
+        if (!latest.isEmpty()) {
+            Long[] ids = latest.keySet().toArray(new Long[0]);
+            String[] statuses = latest.values().stream()
+                    .map(i -> chunk.get(i).getStatus().toUpperCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            try {
+                Set<Long> updated = new HashSet<>();
+                transactionTemplate.executeWithoutResult(status -> {
+                    ComplaintStatsService.Deltas deltas = new ComplaintStatsService.Deltas();
+                    jdbcTemplate.query(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_SQL);
+                        statement.setArray(1, connection.createArrayOf("bigint", ids));
+                        statement.setArray(2, connection.createArrayOf("text", statuses));
+                        statement.setArray(3, connection.createArrayOf("bigint", ids));
+                        statement.setLong(4, adminSocietyId);
+                        statement.setLong(5, adminSocietyId);
+                        return statement;
+                    }, rs -> {
+                        updated.add(rs.getLong("id"));
+                        long societyId = rs.getLong("society_id");
+                        societyIds.add(societyId);
+                        String category = rs.getString("category");
+                        String severity = rs.getString("severity");
+                        long upvotes = rs.getLong("upvotes");
+                        deltas.add(societyId, rs.getString("old_status"), category, severity, -1, -upvotes);
+                        deltas.add(societyId, rs.getString("status"), category, severity, 1, upvotes);
+                    });
+                    complaintStatsService.apply(deltas);
+                });
+                latest.forEach((id, i) -> results[i] = updated.contains(id)
+                        ? BulkRowResult.ok(firstIndex + i, id)
+                        : BulkRowResult.failed(firstIndex + i, "Complaint not found"));
+            } catch (RuntimeException e) {
+                log.warn("Bulk status update of rows {}-{} failed", firstIndex, firstIndex + chunk.size() - 1, e);
+                latest.values().forEach(i -> results[i] = BulkRowResult.failed(firstIndex + i,
+                        "Not updated, its chunk failed: " + e.getMessage()));
+            }
+        }
+        for (BulkRowResult result : results) {
+            response.add(result);
+        }
+    }
+
+    private String firstViolation(Object row) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(row);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void publishBulkChange(Set<Long> societyIds) {
+        if (!societyIds.isEmpty()) {
+            eventPublisher.publishEvent(new ComplaintsBulkChangedEvent(societyIds));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        void handle(List<T> chunk, int firstIndex, BulkResponse response);
+    }
+}
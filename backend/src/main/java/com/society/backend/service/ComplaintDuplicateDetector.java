@@ -0,0 +1,98 @@
+package com.society.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Spots a new complaint that repeats an active one in the same society, before it is saved and sent
+// for AI verification: either the same media (content fingerprint) or nearly the same words in the
+// same category within a recent window. Best effort: two copies posted at the same instant both go through.
+@Service
+public class ComplaintDuplicateDetector {
+
+    private static final String BY_MEDIA_SQL = """
+            SELECT c.id, c.user_id,
+                   EXISTS (SELECT 1 FROM complaint_votes v WHERE v.complaint_id = c.id AND v.user_id = ?) AS voted
+            FROM complaints c
+            WHERE c.society_id = ? AND c.media_fingerprint = ?
+              AND c.status IN ('PENDING_VERIFICATION', 'OPEN', 'IN_PROGRESS')
+            ORDER BY c.created_at DESC
+            LIMIT 1
+            """;
+
+    // Jaccard similarity of the stemmed word sets (shared words / all words). Candidates are only the
+    // society's active complaints inside the window, read from idx_complaints_society_open; the full-text
+    // index is left out on purpose, as common words ("water", "lift") match a large part of the table.
+    // Both sides can be empty (nothing but stop words): that is no similarity, not a division by zero.
+    private static final String BY_TEXT_SQL = """
+            WITH draft AS (
+                SELECT tsvector_to_array(to_tsvector('english', ?)) AS words
+            ), candidates AS (
+                SELECT c.id, c.user_id, c.created_at,
+                       cardinality(ARRAY(SELECT unnest(tsvector_to_array(c.search_vector)) INTERSECT SELECT unnest(d.words)))::real
+                     / NULLIF(cardinality(ARRAY(SELECT unnest(tsvector_to_array(c.search_vector)) UNION SELECT unnest(d.words))), 0) AS similarity
+                FROM complaints c, draft d
+                WHERE c.society_id = ?
+                  AND c.status IN ('PENDING_VERIFICATION', 'OPEN', 'IN_PROGRESS')
+                  AND c.created_at >= ?
+                  AND c.category IS NOT DISTINCT FROM ?
+            )
+            SELECT id, user_id,
+                   EXISTS (SELECT 1 FROM complaint_votes v WHERE v.complaint_id = candidates.id AND v.user_id = ?) AS voted
+            FROM candidates
+            WHERE similarity >= ?
+            ORDER BY similarity DESC, created_at DESC
+            LIMIT 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${complaints.duplicates.enabled:true}")
+    private boolean enabled;
+
+    @Value("${complaints.duplicates.window-hours:72}")
+    private long windowHours;
+
+    @Value("${complaints.duplicates.min-similarity:0.6}")
+    private double minSimilarity;
+
+    public ComplaintDuplicateDetector(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The active complaint this draft repeats, if any. mediaFingerprint may be null (no media). A draft
+    // with media of its own only repeats a complaint with the same media: merged on its words alone,
+    // its media would be lost.
+    public Optional<Duplicate> find(Long societyId, Long userId, String category, String title, String description,
+                                    String mediaFingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (mediaFingerprint != null) {
+            return first(jdbcTemplate.query(BY_MEDIA_SQL, (rs, rowNum) -> new Duplicate(
+                    rs.getLong("id"), rs.getLong("user_id"), rs.getBoolean("voted"), Match.MEDIA),
+                    userId, societyId, mediaFingerprint));
+        }
+        String draft = ((title != null ? title : "") + " " + (description != null ? description : "")).trim();
+        if (draft.isEmpty()) {
+            return Optional.empty();
+        }
+        return first(jdbcTemplate.query(BY_TEXT_SQL, (rs, rowNum) -> new Duplicate(
+                rs.getLong("id"), rs.getLong("user_id"), rs.getBoolean("voted"), Match.TEXT),
+                draft, societyId, LocalDateTime.now().minusHours(windowHours), category, userId, minSimilarity));
+    }
+
+    private static Optional<Duplicate> first(List<Duplicate> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.getFirst());
+    }
+
+    public enum Match { MEDIA, TEXT }
+
+    // The existing complaint, who filed it and whether the new author has already upvoted it
+    public record Duplicate(Long complaintId, Long authorId, boolean alreadyVoted, Match match) {
+    }
+}
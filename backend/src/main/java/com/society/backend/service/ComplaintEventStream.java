@@ -0,0 +1,256 @@
+package com.society.backend.service;
+
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.event.ComplaintChangedEvent;
+import com.society.backend.event.ComplaintsBulkChangedEvent;
+import com.society.backend.exception.ServiceBusyException;
+import com.society.backend.repository.ComplaintRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live complaint updates per society over Server-Sent Events, so clients apply small deltas instead
+// of re-polling the whole list. Every change is loaded once and fanned out to the society's
+// subscribers through a bounded per-connection queue, so a slow client can never hold up the
+// request that made the change or grow memory without limit.
+//
+// Event ids are "<epoch>-<sequence>". A reconnecting client sends the last id it saw (the browser's
+// EventSource does this on its own) and gets the events it missed from a short per-society history;
+// if those are gone (too old, server restarted, or its queue overflowed) it gets a "resync" event
+// and should reload the list once.
+@Slf4j
+@Service
+public class ComplaintEventStream {
+
+    static final String RESYNC = "resync";
+
+    private final ComplaintRepository complaintRepository;
+
+    // Ids from before a restart can't be resumed: the sequence starts over
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger threadNumber = new AtomicInteger();
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    @Value("${events.stream.history-size:200}")
+    private int historySize;
+
+    @Value("${events.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${events.stream.max-connections:5000}")
+    private int maxConnections;
+
+    @Value("${events.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.stream.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    public ComplaintEventStream(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(Channel::closeAll);
+    }
+
+    public SseEmitter subscribe(Long societyId, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceBusyException("Too many live connections, please retry later.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        Channel channel = channels.computeIfAbsent(societyId, id -> new Channel(sequence.get()));
+        channel.add(subscriber, lastEventId);
+
+        emitter.onCompletion(() -> channel.remove(subscriber));
+        emitter.onTimeout(() -> channel.remove(subscriber));
+        emitter.onError(e -> channel.remove(subscriber));
+
+        // Sending blocks on the client's socket, so each connection gets its own (virtual) sender thread
+        Thread.ofVirtual().name("sse-" + threadNumber.incrementAndGet()).start(() -> drain(channel, subscriber));
+        return emitter;
+    }
+
+    // Runs after the change is committed, or right away when the caller had no transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        Channel channel = channels.get(event.societyId());
+        if (channel == null) {
+            return; // Nobody has ever listened to this society: nothing to push or keep
+        }
+        // One read per change, shared by every subscriber
+        complaintRepository.findSummaryById(event.complaintId())
+                .ifPresent(complaint -> channel.publish(event.type().name(), complaint));
+    }
+
+    // Bulk imports and status updates change too much to stream: their societies reload instead
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkChange(ComplaintsBulkChangedEvent event) {
+        for (Long societyId : event.societyIds()) {
+            Channel channel = channels.get(societyId);
+            if (channel != null) {
+                channel.resyncAll();
+            }
+        }
+    }
+
+    private void drain(Channel channel, Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                StreamEvent event = subscriber.queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    // Keeps proxies from closing an idle stream and notices clients that went away
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().id(event.id()).name(event.name());
+                if (event.data() != null) {
+                    builder.data(event.data(), MediaType.APPLICATION_JSON);
+                } else {
+                    builder.data("{}");
+                }
+                subscriber.emitter.send(builder);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            subscriber.emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.remove(subscriber);
+        }
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private record StreamEvent(long seq, String id, String name, ComplaintSummaryDto data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<StreamEvent> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    // One society: its recent history and its live subscribers. Publishing and subscribing take the
+    // same lock, so a reconnecting client gets every missed event exactly once. Nothing inside the
+    // lock blocks (queue offers only).
+    private final class Channel {
+        private final ArrayDeque<StreamEvent> history = new ArrayDeque<>();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // Events up to this sequence may have been missed by a resuming client
+        private long forgottenUpTo;
+
+        private Channel(long createdAt) {
+            this.forgottenUpTo = createdAt;
+        }
+
+        synchronized void publish(String name, ComplaintSummaryDto complaint) {
+            long seq = sequence.incrementAndGet();
+            StreamEvent event = new StreamEvent(seq, eventId(seq), name, complaint);
+
+            history.addLast(event);
+            if (history.size() > historySize) {
+                forgottenUpTo = history.removeFirst().seq();
+            }
+
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.queue.offer(event)) {
+                    // Too slow to keep up: drop its backlog and tell it to reload once instead
+                    subscriber.queue.clear();
+                    subscriber.queue.offer(new StreamEvent(seq, event.id(), RESYNC, null));
+                }
+            }
+        }
+
+        // Everyone reloads, and so does any client resuming from before this point
+        synchronized void resyncAll() {
+            long seq = sequence.incrementAndGet();
+            history.clear();
+            forgottenUpTo = seq;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.queue.clear();
+                subscriber.queue.offer(new StreamEvent(seq, eventId(seq), RESYNC, null));
+            }
+        }
+
+        synchronized void add(Subscriber subscriber, String lastEventId) {
+            Long lastSeq = parseSequence(lastEventId);
+            if (lastSeq != null) {
+                if (lastSeq < forgottenUpTo) {
+                    subscriber.queue.offer(new StreamEvent(lastSeq, eventId(sequence.get()), RESYNC, null));
+                } else {
+                    List<StreamEvent> missed = new ArrayList<>();
+                    for (StreamEvent event : history) {
+                        if (event.seq() > lastSeq) {
+                            missed.add(event);
+                        }
+                    }
+                    if (missed.size() > bufferSize) {
+                        subscriber.queue.offer(new StreamEvent(lastSeq, eventId(sequence.get()), RESYNC, null));
+                    } else {
+                        subscriber.queue.addAll(missed);
+                    }
+                }
+            } else if (lastEventId != null && !lastEventId.isBlank()) {
+                // An id from another server run (or garbage)
+                subscriber.queue.offer(new StreamEvent(0, eventId(sequence.get()), RESYNC, null));
+            }
+            subscribers.add(subscriber);
+        }
+
+        void remove(Subscriber subscriber) {
+            if (subscribers.remove(subscriber)) {
+                subscriber.closed = true;
+                connections.decrementAndGet();
+            }
+        }
+
+        void closeAll() {
+            for (Subscriber subscriber : subscribers) {
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+
+        private Long parseSequence(String lastEventId) {
+            if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+                return null;
+            }
+            try {
+                return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.society.backend.service;
+
+import com.society.backend.dto.ComplaintFeedResponse;
+import com.society.backend.dto.ComplaintSummaryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.List;
+
+// Full-text search over a society's complaints, served by the GIN index on complaints.search_vector
+// (see V5), and the "similar open complaints" lookup residents see before filing a new one.
+@Service
+public class ComplaintSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // The feed's summary view in plain SQL (also used by VendorWorkQueueService)
+    static final String SUMMARY_COLUMNS = """
+            c.id, c.title, c.description, c.category, c.status, c.severity, c.image_url, c.upvotes, c.created_at,
+            u.id AS user_id, u.full_name AS user_name, u.flat_no, v.id AS vendor_id, v.full_name AS vendor_name
+            """;
+
+    // Best match first. Keyset on (rank, id): the cursor is the last row's rank and id, so deep pages
+    // don't re-read the rows before them. websearch_to_tsquery accepts what people type ("quoted
+    // phrases", or, -exclusions) and never fails on bad syntax.
+    private static final String SEARCH_SQL = "SELECT " + SUMMARY_COLUMNS + """
+            , ts_rank_cd(c.search_vector, q) AS rank
+            FROM complaints c
+            CROSS JOIN websearch_to_tsquery('english', ?) q
+            JOIN users u ON u.id = c.user_id
+            LEFT JOIN users v ON v.id = c.assigned_vendor_id
+            WHERE c.society_id = ?
+              AND c.search_vector @@ q
+              AND (?::text IS NULL OR c.status = ?)
+              AND (?::text IS NULL OR c.category = ?)
+              AND (?::text IS NULL OR c.severity = ?)
+              AND (?::real IS NULL OR (ts_rank_cd(c.search_vector, q), c.id) < (?::real, ?::bigint))
+            ORDER BY rank DESC, c.id DESC
+            LIMIT ?
+            """;
+
+    // Any word of the draft may match (OR of its stemmed words), ranked 0..1 by how much it overlaps
+    private static final String SIMILAR_SQL = "SELECT " + SUMMARY_COLUMNS + """
+            FROM complaints c
+            CROSS JOIN (
+                SELECT to_tsquery('simple', array_to_string(ARRAY(
+                    SELECT quote_literal(word) FROM unnest(tsvector_to_array(to_tsvector('english', ?))) AS word
+                ), ' | ')) AS q
+            ) draft
+            JOIN users u ON u.id = c.user_id
+            LEFT JOIN users v ON v.id = c.assigned_vendor_id
+            WHERE c.society_id = ?
+              AND c.status IN ('PENDING_VERIFICATION', 'OPEN', 'IN_PROGRESS')
+              AND (?::text IS NULL OR c.category = ?)
+              AND c.search_vector @@ draft.q
+              AND ts_rank(c.search_vector, draft.q, 32) >= ?
+            ORDER BY ts_rank(c.search_vector, draft.q, 32) DESC, c.created_at DESC
+            LIMIT ?
+            """;
+
+    static final RowMapper<ComplaintSummaryDto> SUMMARY = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ComplaintSummaryDto(
+                rs.getLong("id"), rs.getString("title"), rs.getString("description"), rs.getString("category"),
+                rs.getString("status"), rs.getString("severity"), rs.getString("image_url"), rs.getInt("upvotes"),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                rs.getLong("user_id"), rs.getString("user_name"), rs.getString("flat_no"),
+                rs.getObject("vendor_id", Long.class), rs.getString("vendor_name"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${complaints.similar.min-rank:0.1}")
+    private double similarMinRank;
+
+    @Value("${complaints.similar.max-results:5}")
+    private int similarMaxResults;
+
+    public ComplaintSearchService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public ComplaintFeedResponse search(Long societyId, String query, String status, String category, String severity,
+                                        String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search text is required");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Float cursorRank = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorRank = Float.parseFloat(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+        String statusFilter = status != null ? status.toUpperCase() : null;
+        String severityFilter = severity != null ? ComplaintService.normalizeSeverity(severity) : null;
+
+        // One extra row tells whether there is a next page
+        List<Hit> hits = jdbcTemplate.query(SEARCH_SQL,
+                (rs, rowNum) -> new Hit(SUMMARY.mapRow(rs, rowNum), rs.getFloat("rank")),
+                query, societyId, statusFilter, statusFilter, category, category, severityFilter, severityFilter,
+                cursorRank, cursorRank, cursorId, pageSize + 1);
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            Hit last = hits.get(pageSize - 1);
+            nextCursor = encodeCursor(last.rank(), last.complaint().getId());
+        }
+        return new ComplaintFeedResponse(hits.stream().map(Hit::complaint).toList(), nextCursor);
+    }
+
+    // Open complaints in the society that look like the draft (title + description), best match first
+    public List<ComplaintSummaryDto> findSimilarOpen(Long societyId, String title, String description, String category) {
+        String draft = ((title != null ? title : "") + " " + (description != null ? description : "")).trim();
+        if (draft.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SIMILAR_SQL, SUMMARY, draft, societyId, category, category, similarMinRank, similarMaxResults);
+    }
+
+    private static String encodeCursor(float rank, Long id) {
+        String raw = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            Float.parseFloat(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private record Hit(ComplaintSummaryDto complaint, float rank) {
+    }
+}
@@ -1,34 +1,64 @@
 package com.society.backend.service;
 
 import com.society.backend.dto.ComplaintDto;
+import com.society.backend.dto.ComplaintFeedResponse;
+import com.society.backend.dto.ComplaintStatsDto;
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.event.ComplaintChangedEvent;
+import com.society.backend.event.ComplaintCreatedEvent;
 import com.society.backend.model.Complaint;
-import com.society.backend.model.ComplaintVote;
 import com.society.backend.model.Society;
 import com.society.backend.model.User;
 import com.society.backend.repository.ComplaintRepository;
-import com.society.backend.repository.ComplaintVoteRepository;
 import com.society.backend.repository.SocietyRepository;
 import com.society.backend.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map; // FIXED: Changed from org.hibernate.mapping.Map
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true) // Every public method, tagged with class + method
 public class ComplaintService {
 
     private final ComplaintRepository complaintRepository;
     private final SocietyRepository societyRepository;
     private final UserRepository userRepository;
-    private final ComplaintVoteRepository complaintVoteRepository;
-    private final AiValidationService aiValidationService;
+    private final VoteAggregationBuffer voteAggregationBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ComplaintStatsService complaintStatsService;
+    private final ComplaintDuplicateDetector duplicateDetector;
+    private final MediaFingerprintService mediaFingerprintService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
-    // 1. Create a new complaint (Now with AI included)
-    @Transactional
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    // Sorts after every real createdAt, used as the cursor for the first page
+    private static final Set<String> SEVERITIES = Set.of("LOW", "MEDIUM", "HIGH", "EMERGENCY");
+
+    private static final LocalDateTime FEED_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    // 1. Create a new complaint
+    // AI validation of the media runs afterwards on ComplaintVerificationWorker, so this
+    // transaction (and its DB connection) never waits on the AI service.
+    // A post repeating an active complaint of the society is not saved: it becomes the author's
+    // upvote on the existing one, which is returned with mergedDuplicate = true. Not transactional
+    // itself: the media fingerprint (a bucket request) and the merged vote run without holding a connection.
     public Complaint createComplaint(ComplaintDto dto) {
         Long userId = dto.getUserId();
         // 1. Fetch the user submitting the complaint
@@ -40,21 +70,13 @@ public class ComplaintService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // 2. Validate with AI (if an image/video URL is provided)
-        if (dto.getImageUrl() != null && !dto.getImageUrl().isEmpty()) {
-            boolean isValid = aiValidationService.validateComplaint(dto.getImageUrl());
-            
-            if (!isValid) {
-                // PENALTY: Deduct 50 points for fake/spam reports
-                user.setReputationScore(user.getReputationScore() - 50);
-                userRepository.save(user);
-                
-                throw new RuntimeException("AI Validation Failed: Complaint rejected as spam. 50 reputation points deducted.");
-            } else {
-                // REWARD: Add 10 points for valid reports
-                user.setReputationScore(user.getReputationScore() + 10);
-                userRepository.save(user);
-            }
+        // 2. Same media or nearly the same words as an active complaint: merge instead of saving
+        boolean hasMedia = dto.getImageUrl() != null && !dto.getImageUrl().isEmpty();
+        String mediaFingerprint = hasMedia ? mediaFingerprintService.fingerprint(dto.getImageUrl()) : null;
+        Optional<ComplaintDuplicateDetector.Duplicate> duplicate = duplicateDetector.find(user.getSociety().getId(),
+                userId, dto.getCategory(), dto.getTitle(), dto.getDescription(), mediaFingerprint);
+        if (duplicate.isPresent()) {
+            return mergeDuplicate(duplicate.get(), userId);
         }
 
         // 3. Save the complaint
@@ -62,15 +84,67 @@ public class ComplaintService {
         complaint.setTitle(dto.getTitle());
         complaint.setDescription(dto.getDescription());
         complaint.setCategory(dto.getCategory());
-        complaint.setSeverity(dto.getSeverity());
+        complaint.setSeverity(normalizeSeverity(dto.getSeverity()));
         complaint.setImageUrl(dto.getImageUrl());
+        complaint.setMediaFingerprint(mediaFingerprint);
         complaint.setStatus("PENDING_VERIFICATION");
         complaint.setUpvotes(0);
         
         complaint.setUser(user);
         complaint.setSociety(user.getSociety());
 
-        return complaintRepository.save(complaint);
+        return transactionTemplate.execute(status -> {
+            Complaint saved = complaintRepository.save(complaint);
+            complaintStatsService.added(saved.getSociety().getId(), saved.getStatus(), saved.getCategory(), saved.getSeverity());
+            eventPublisher.publishEvent(new ComplaintCreatedEvent(saved.getId(), hasMedia));
+            publishChange(ComplaintChangedEvent.Type.CREATED, saved);
+            return saved;
+        });
+    }
+
+    // The duplicate counts as the author's upvote on the existing complaint: no new row, no AI check,
+    // no reputation change. Filing the same thing twice (or after upvoting it) changes nothing.
+    private Complaint mergeDuplicate(ComplaintDuplicateDetector.Duplicate duplicate, Long userId) {
+        Complaint existing;
+        if (duplicate.authorId().equals(userId) || duplicate.alreadyVoted()) {
+            existing = complaintRepository.findById(duplicate.complaintId())
+                    .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        } else {
+            existing = upvoteComplaint(duplicate.complaintId(), userId);
+        }
+        Counter.builder("complaints.duplicates.merged")
+                .description("New complaints merged into an existing one instead of being saved")
+                .tag("match", duplicate.match().name())
+                .register(meterRegistry)
+                .increment();
+        existing.setMergedDuplicate(true);
+        return existing;
+    }
+
+    // Called by the verification worker once the AI has given its verdict
+    @Transactional
+    public void applyVerificationResult(Long complaintId, Long userId, boolean isValid) {
+        if (isValid) {
+            if (complaintRepository.markVerified(complaintId) == 1) {
+                // REWARD: Add 10 points for valid reports
+                userRepository.adjustReputation(userId, 10);
+            }
+        } else {
+            // Row lock first: the status read here is the one markRejected changes
+            Complaint complaint = complaintRepository.findByIdForUpdate(complaintId).orElse(null);
+            if (complaint == null || complaint.getAiVerified() != null) {
+                return;
+            }
+            String previousStatus = complaint.getStatus();
+            complaintRepository.markRejected(complaintId);
+            // Only a complaint that was still waiting on this verdict is rejected (see markRejected)
+            if ("PENDING_VERIFICATION".equals(previousStatus)) {
+                complaintStatsService.statusChanged(complaintId, previousStatus, "REJECTED");
+                // PENALTY: Deduct 50 points for fake/spam reports
+                userRepository.adjustReputation(userId, -50);
+                publishChange(ComplaintChangedEvent.Type.STATUS_CHANGED, complaint);
+            }
+        }
     }
 
     // 2. Get all complaints for a specific society
@@ -78,48 +152,99 @@ public class ComplaintService {
         return complaintRepository.findBySocietyId(societyId);
     }
 
-    // 3. Upvote a Complaint
-    public Complaint upvoteComplaint(Long complaintId, Long userId) {
-        Complaint complaint = complaintRepository.findById(complaintId)
+    // The slim view the endpoints answer with, read in one query once the change is committed
+    public ComplaintSummaryDto getSummary(Long complaintId) {
+        return complaintRepository.findSummaryById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // 2b. Paginated, filtered feed for a society (slim DTOs instead of full entity graphs)
+    public ComplaintFeedResponse getComplaintFeed(Long societyId, String status, String category, String severity,
+                                                  String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_FEED_PAGE_SIZE);
+
+        LocalDateTime cursorCreatedAt = FEED_START;
+        Long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorCreatedAt = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
 
-        // Check if user already voted
-        if (complaintVoteRepository.existsByComplaintAndUser(complaint, user)) {
-            throw new RuntimeException("You have already voted on this complaint.");
+        // Fetch one extra row to know whether there is a next page without a COUNT query
+        List<ComplaintSummaryDto> rows = complaintRepository.findFeedPage(
+                societyId,
+                status != null ? status.toUpperCase() : null,
+                category,
+                severity != null ? normalizeSeverity(severity) : null,
+                cursorCreatedAt,
+                cursorId,
+                PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ComplaintSummaryDto last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
         }
+        return new ComplaintFeedResponse(rows, nextCursor);
+    }
 
-        // Save the vote record
-        ComplaintVote vote = new ComplaintVote();
-        vote.setComplaint(complaint);
-        vote.setUser(user);
-        complaintVoteRepository.save(vote);
+    // Severity as stored: LOW, MEDIUM, HIGH or EMERGENCY whatever the case it was sent in, LOW when missing
+    // or unknown. The SLA escalator and complaint_priority (V7, V8) match these exact values.
+    static String normalizeSeverity(String severity) {
+        String normalized = severity != null ? severity.trim().toUpperCase(Locale.ROOT) : "";
+        return SEVERITIES.contains(normalized) ? normalized : "LOW";
+    }
 
-        // Increment the count on the complaint itself
-        complaint.setUpvotes(complaint.getUpvotes() + 1);
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        // Auto-Escalation Logic: If it gets 3 upvotes, make it an ACTIVE ticket
-        if (complaint.getUpvotes() >= 3 && complaint.getStatus().equals("PENDING_VERIFICATION")) {
-            complaint.setStatus("OPEN");
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
         }
+    }
+
+    // 3. Upvote a Complaint
+    // Not transactional on purpose: the vote is group-committed by VoteAggregationBuffer, and this
+    // thread must not hold a DB connection while it waits for the flush.
+    public Complaint upvoteComplaint(Long complaintId, Long userId) {
+        voteAggregationBuffer.vote(complaintId, userId);
 
-        return complaintRepository.save(complaint);
+        Complaint complaint = complaintRepository.findById(complaintId)
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        // Carries the new status too when this vote escalated the complaint
+        publishChange(ComplaintChangedEvent.Type.UPVOTED, complaint);
+        return complaint;
     }
 
     // 4. Admin Updates Status
+    @Transactional
     public Complaint updateComplaintStatus(Long complaintId, String newStatus) {
-        Complaint complaint = complaintRepository.findById(complaintId)
+        Complaint complaint = complaintRepository.findByIdForUpdate(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
+        String previousStatus = complaint.getStatus();
         complaint.setStatus(newStatus.toUpperCase());
-        return complaintRepository.save(complaint);
+        Complaint saved = complaintRepository.saveAndFlush(complaint);
+        complaintStatsService.statusChanged(complaintId, previousStatus, saved.getStatus());
+        publishChange(ComplaintChangedEvent.Type.STATUS_CHANGED, saved);
+        return saved;
     }
 
     @Transactional
     public Complaint assignVendor(Long complaintId, Long vendorId) {
-        Complaint complaint = complaintRepository.findById(complaintId)
+        Complaint complaint = complaintRepository.findByIdForUpdate(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
         User vendor = userRepository.findById(vendorId)
@@ -130,9 +255,23 @@ public class ComplaintService {
         }
 
         // Set the vendor and update the status to IN_PROGRESS
+        String previousStatus = complaint.getStatus();
         complaint.setAssignedVendor(vendor);
         complaint.setStatus("IN_PROGRESS");
-        
-        return complaintRepository.save(complaint);
+
+        Complaint saved = complaintRepository.saveAndFlush(complaint);
+        complaintStatsService.statusChanged(complaintId, previousStatus, saved.getStatus());
+        publishChange(ComplaintChangedEvent.Type.VENDOR_ASSIGNED, saved);
+        return saved;
+    }
+
+    // Dashboard counters, from the precomputed per-society rows
+    public ComplaintStatsDto getComplaintStats(Long societyId) {
+        return complaintStatsService.getStats(societyId);
+    }
+
+    // Live subscribers of the society get the change once it is committed (see ComplaintEventStream)
+    private void publishChange(ComplaintChangedEvent.Type type, Complaint complaint) {
+        eventPublisher.publishEvent(new ComplaintChangedEvent(type, complaint.getId(), complaint.getSociety().getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.society.backend.service;
+
+import com.society.backend.event.ComplaintChangedEvent;
+import com.society.backend.event.ComplaintsBulkChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Opens complaints that have waited in PENDING_VERIFICATION longer than their severity's SLA, the
+// same transition three upvotes trigger. Works in batches, each its own transaction, read from
+// idx_complaints_sla_pending. Rows are claimed with SKIP LOCKED, so several nodes can run this at
+// once without escalating (or waiting on) the same complaint.
+@Slf4j
+@Service
+public class ComplaintSlaEscalator {
+
+    // Above this many escalations in one society per batch, its live feeds reload instead of getting one event each
+    private static final int MAX_STREAMED_CHANGES = 50;
+
+    // Up to batch-size overdue complaints per severity, oldest first
+    private static final String ESCALATE_SQL = """
+            WITH sla (severity, cutoff) AS (
+                VALUES ('EMERGENCY'::varchar, ?::timestamp), ('HIGH'::varchar, ?::timestamp),
+                       ('MEDIUM'::varchar, ?::timestamp), ('LOW'::varchar, ?::timestamp)
+            ), due AS (
+                SELECT overdue.id
+                FROM sla
+                CROSS JOIN LATERAL (
+                    SELECT id FROM complaints
+                    WHERE status = 'PENDING_VERIFICATION'
+                      AND COALESCE(severity, 'LOW') = sla.severity
+                      AND created_at < sla.cutoff
+                    ORDER BY created_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ) overdue
+            )
+            UPDATE complaints c SET status = 'OPEN', updated_at = now()
+            FROM due
+            WHERE c.id = due.id AND c.status = 'PENDING_VERIFICATION'
+            RETURNING c.id, c.society_id, c.category, c.severity, c.upvotes
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ComplaintStatsService complaintStatsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${complaints.sla.enabled:true}")
+    private boolean enabled;
+
+    @Value("${complaints.sla.batch-size:500}")
+    private int batchSize;
+
+    @Value("${complaints.sla.emergency-minutes:15}")
+    private long emergencyMinutes;
+
+    @Value("${complaints.sla.high-minutes:240}")
+    private long highMinutes;
+
+    @Value("${complaints.sla.medium-minutes:1440}")
+    private long mediumMinutes;
+
+    @Value("${complaints.sla.low-minutes:4320}")
+    private long lowMinutes;
+
+    public ComplaintSlaEscalator(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ComplaintStatsService complaintStatsService,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.complaintStatsService = complaintStatsService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.sla.interval-ms:60000}",
+            initialDelayString = "${complaints.sla.initial-delay-ms:30000}")
+    public void escalateOverdue() {
+        if (!enabled) {
+            return;
+        }
+        int total = 0;
+        try {
+            // Escalated rows leave the index and locked ones are skipped, so this ends once nothing is due
+            int escalated;
+            do {
+                escalated = escalateBatch();
+                total += escalated;
+            } while (escalated > 0);
+        } catch (RuntimeException e) {
+            log.warn("SLA escalation failed after {} complaints", total, e);
+        }
+        if (total > 0) {
+            log.info("Opened {} complaints that were past their verification SLA", total);
+        }
+    }
+
+    // One batch in one transaction; returns how many complaints it opened
+    int escalateBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Long>> bySociety = new HashMap<>();
+        Map<String, Integer> bySeverity = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            ComplaintStatsService.Deltas deltas = new ComplaintStatsService.Deltas();
+            jdbcTemplate.query(ESCALATE_SQL, rs -> {
+                long societyId = rs.getLong("society_id");
+                String category = rs.getString("category");
+                String severity = rs.getString("severity");
+                long upvotes = rs.getLong("upvotes");
+                deltas.add(societyId, "PENDING_VERIFICATION", category, severity, -1, -upvotes);
+                deltas.add(societyId, "OPEN", category, severity, 1, upvotes);
+                bySociety.computeIfAbsent(societyId, id -> new ArrayList<>()).add(rs.getLong("id"));
+                bySeverity.merge(severity != null ? severity : "LOW", 1, Integer::sum);
+            }, now.minusMinutes(emergencyMinutes), now.minusMinutes(highMinutes), now.minusMinutes(mediumMinutes),
+                    now.minusMinutes(lowMinutes), batchSize);
+            complaintStatsService.apply(deltas);
+        });
+
+        bySeverity.forEach((severity, count) -> Counter.builder("complaints.sla.escalated")
+                .description("Complaints opened because they waited past their verification SLA")
+                .tag("severity", severity)
+                .register(meterRegistry)
+                .increment(count));
+        bySociety.forEach(this::publishChanges);
+        return bySeverity.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private void publishChanges(Long societyId, List<Long> complaintIds) {
+        if (complaintIds.size() > MAX_STREAMED_CHANGES) {
+            eventPublisher.publishEvent(new ComplaintsBulkChangedEvent(Set.of(societyId)));
+            return;
+        }
+        for (Long complaintId : complaintIds) {
+            eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.STATUS_CHANGED, complaintId, societyId));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.society.backend.service;
+
+import com.society.backend.dto.ComplaintStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Per-society complaint counters (complaint_stats, one row per status/category/severity), so the
+// dashboard reads a few dozen rows instead of every complaint. Every path that creates a complaint,
+// changes its status or adds upvotes adjusts the counters in its own transaction, while it holds the
+// complaint's row lock, so each change is counted exactly once. reconcile() recounts periodically
+// and repairs any drift (e.g. rows edited by hand).
+//
+// Writers and the recount are kept apart by a per-society advisory lock: every change takes it shared
+// (changes don't wait for each other), reconcile() takes it exclusive. Its key is the single bigint
+// hashtextextended('complaint-stats', society_id): any society id fits, unlike an int key.
+@Slf4j
+@Service
+public class ComplaintStatsService {
+
+    static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private static final String ADD_SQL = """
+            INSERT INTO complaint_stats AS s (society_id, status, category, severity, complaints, upvotes)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (society_id, status, category, severity)
+            DO UPDATE SET complaints = s.complaints + EXCLUDED.complaints, upvotes = s.upvotes + EXCLUDED.upvotes
+            """;
+
+    // Moves one complaint (and its upvotes) from its old status' row to the new one
+    private static final String STATUS_CHANGED_SQL = """
+            WITH c AS (
+                SELECT society_id, COALESCE(category, 'UNSPECIFIED') AS category,
+                       COALESCE(severity, 'UNSPECIFIED') AS severity, upvotes
+                FROM complaints WHERE id = ?
+            ), moved_out AS (
+                UPDATE complaint_stats s SET complaints = s.complaints - 1, upvotes = s.upvotes - c.upvotes
+                FROM c
+                WHERE s.society_id = c.society_id AND s.status = ? AND s.category = c.category AND s.severity = c.severity
+            )
+            INSERT INTO complaint_stats AS s (society_id, status, category, severity, complaints, upvotes)
+            SELECT c.society_id, ?, c.category, c.severity, 1, c.upvotes FROM c
+            ON CONFLICT (society_id, status, category, severity)
+            DO UPDATE SET complaints = s.complaints + 1, upvotes = s.upvotes + EXCLUDED.upvotes
+            """;
+
+    // Shared per-society lock for one complaint's society, see reconcile()
+    private static final String LOCK_COMPLAINT_SOCIETY_SQL = """
+            SELECT pg_advisory_xact_lock_shared(hashtextextended('complaint-stats', society_id)) FROM complaints WHERE id = ?
+            """;
+
+    private static final String UPVOTED_SQL = """
+            UPDATE complaint_stats s SET upvotes = s.upvotes + ?
+            FROM complaints c
+            WHERE c.id = ? AND s.society_id = c.society_id
+              AND s.status = COALESCE(c.status, 'UNSPECIFIED')
+              AND s.category = COALESCE(c.category, 'UNSPECIFIED')
+              AND s.severity = COALESCE(c.severity, 'UNSPECIFIED')
+            """;
+
+    // Recounts one society and overwrites the rows that are off. Returns how many rows were wrong.
+    private static final String RECONCILE_SQL = """
+            WITH actual AS (
+                SELECT COALESCE(status, 'UNSPECIFIED') AS status, COALESCE(category, 'UNSPECIFIED') AS category,
+                       COALESCE(severity, 'UNSPECIFIED') AS severity, count(*) AS complaints,
+                       COALESCE(sum(upvotes), 0) AS upvotes
+                FROM complaints WHERE society_id = ?
+                GROUP BY 1, 2, 3
+            ), fixed AS (
+                INSERT INTO complaint_stats AS s (society_id, status, category, severity, complaints, upvotes)
+                SELECT ?, status, category, severity, complaints, upvotes FROM actual
+                ON CONFLICT (society_id, status, category, severity)
+                DO UPDATE SET complaints = EXCLUDED.complaints, upvotes = EXCLUDED.upvotes
+                WHERE (s.complaints, s.upvotes) IS DISTINCT FROM (EXCLUDED.complaints, EXCLUDED.upvotes)
+                RETURNING 1
+            ), removed AS (
+                DELETE FROM complaint_stats s
+                WHERE s.society_id = ?
+                  AND NOT EXISTS (SELECT 1 FROM actual a
+                                  WHERE a.status = s.status AND a.category = s.category AND a.severity = s.severity)
+                RETURNING s.complaints, s.upvotes
+            )
+            SELECT (SELECT count(*) FROM fixed)
+                 + (SELECT count(*) FROM removed WHERE complaints <> 0 OR upvotes <> 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ComplaintStatsService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // A new complaint
+    public void added(Long societyId, String status, String category, String severity) {
+        Deltas deltas = new Deltas();
+        deltas.add(societyId, status, category, severity, 1, 0);
+        apply(deltas);
+    }
+
+    // Call after the complaint's status was changed, in the same transaction
+    public void statusChanged(Long complaintId, String from, String to) {
+        String oldStatus = orUnspecified(from);
+        String newStatus = orUnspecified(to);
+        if (!oldStatus.equals(newStatus)) {
+            jdbcTemplate.query(LOCK_COMPLAINT_SOCIETY_SQL, rs -> {
+            }, complaintId);
+            jdbcTemplate.update(STATUS_CHANGED_SQL, complaintId, oldStatus, newStatus);
+        }
+    }
+
+    // Call after the complaint's upvote counter was bumped, in the same transaction
+    public void upvoted(Long complaintId, int votes) {
+        if (votes > 0) {
+            jdbcTemplate.query(LOCK_COMPLAINT_SOCIETY_SQL, rs -> {
+            }, complaintId);
+            jdbcTemplate.update(UPVOTED_SQL, votes, complaintId);
+        }
+    }
+
+    // Many changes at once (bulk import / status updates): one batched upsert per touched row
+    public void apply(Deltas deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.cells.size());
+        deltas.cells.forEach((cell, change) -> {
+            if (change[0] != 0 || change[1] != 0) {
+                rows.add(new Object[]{cell.societyId(), cell.status(), cell.category(), cell.severity(), change[0], change[1]});
+            }
+        });
+        if (!rows.isEmpty()) {
+            // Same lock order in every batch, so two concurrent batches can't deadlock
+            rows.sort(Comparator.comparing((Object[] row) -> (Long) row[0])
+                    .thenComparing(row -> (String) row[1])
+                    .thenComparing(row -> (String) row[2])
+                    .thenComparing(row -> (String) row[3]));
+            rows.stream().map(row -> (Long) row[0]).distinct().forEach(societyId ->
+                    jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(hashtextextended('complaint-stats', ?))", rs -> {
+                    }, societyId));
+            jdbcTemplate.batchUpdate(ADD_SQL, rows);
+        }
+    }
+
+    public ComplaintStatsDto getStats(Long societyId) {
+        ComplaintStatsDto stats = new ComplaintStatsDto();
+        stats.setSocietyId(societyId);
+        jdbcTemplate.query("SELECT status, category, severity, complaints, upvotes FROM complaint_stats WHERE society_id = ?",
+                rs -> {
+                    long complaints = rs.getLong("complaints");
+                    stats.setTotal(stats.getTotal() + complaints);
+                    stats.setUpvotes(stats.getUpvotes() + rs.getLong("upvotes"));
+                    stats.getByStatus().merge(rs.getString("status"), complaints, Long::sum);
+                    stats.getByCategory().merge(rs.getString("category"), complaints, Long::sum);
+                    stats.getBySeverity().merge(rs.getString("severity"), complaints, Long::sum);
+                }, societyId);
+        // Rows emptied by status changes stay around until the next reconcile
+        stats.getByStatus().values().removeIf(count -> count == 0);
+        stats.getByCategory().values().removeIf(count -> count == 0);
+        stats.getBySeverity().values().removeIf(count -> count == 0);
+        return stats;
+    }
+
+    // Recounts society by society. Each one first takes the society's stats lock exclusively: it waits
+    // for the changes in flight to commit (so they are in the recount), and changes that come after wait
+    // for the recount and apply their delta on top of it. Locking only the counter rows wasn't enough:
+    // a change that creates a new row would slip past the recount.
+    @Scheduled(fixedDelayString = "${complaints.stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${complaints.stats.reconcile-initial-delay-ms:300000}")
+    public void reconcile() {
+        int wrongRows = 0;
+        for (Long societyId : jdbcTemplate.queryForList("SELECT id FROM societies", Long.class)) {
+            try {
+                Integer fixed = transactionTemplate.execute(status -> {
+                    jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtextextended('complaint-stats', ?))", rs -> {
+                    }, societyId);
+                    return jdbcTemplate.queryForObject(RECONCILE_SQL, Integer.class, societyId, societyId, societyId);
+                });
+                wrongRows += fixed != null ? fixed : 0;
+            } catch (RuntimeException e) {
+                log.warn("Complaint stats reconciliation failed for society {}", societyId, e);
+            }
+        }
+        if (wrongRows > 0) {
+            log.warn("Complaint stats reconciliation repaired {} counter rows", wrongRows);
+        }
+    }
+
+    private static String orUnspecified(String value) {
+        return value != null ? value : UNSPECIFIED;
+    }
+
+    // Counter changes collected in memory and written in one batch
+    public static final class Deltas {
+        private final Map<Cell, long[]> cells = new HashMap<>();
+
+        public void add(Long societyId, String status, String category, String severity, long complaints, long upvotes) {
+            Cell cell = new Cell(Objects.requireNonNull(societyId), orUnspecified(status), orUnspecified(category), orUnspecified(severity));
+            long[] change = cells.computeIfAbsent(cell, key -> new long[2]);
+            change[0] += complaints;
+            change[1] += upvotes;
+        }
+
+        public boolean isEmpty() {
+            return cells.isEmpty();
+        }
+    }
+
+    private record Cell(Long societyId, String status, String category, String severity) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.society.backend.service;
+
+import com.society.backend.event.ComplaintCreatedEvent;
+import com.society.backend.model.Complaint;
+import com.society.backend.repository.ComplaintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComplaintVerificationWorker {
+
+    private final ComplaintRepository complaintRepository;
+    private final AiValidationService aiValidationService;
+    private final ComplaintService complaintService;
+
+    @Qualifier("aiVerificationExecutor")
+    private final ThreadPoolTaskExecutor aiVerificationExecutor;
+
+    // Complaint IDs currently queued or running, so the sweeper doesn't submit them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${ai.verification.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    @Value("${ai.verification.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    // Runs only after the complaint row is committed, so the worker can always see it
+    @TransactionalEventListener
+    public void onComplaintCreated(ComplaintCreatedEvent event) {
+        if (event.hasMedia()) {
+            submit(event.complaintId());
+        }
+    }
+
+    // Picks up complaints whose check was dropped (full queue) or lost (restart)
+    @Scheduled(fixedDelayString = "${ai.verification.sweep-interval-ms:60000}")
+    public void sweepUnverified() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        List<Long> ids = complaintRepository.findUnverifiedMediaIds(staleBefore, PageRequest.of(0, sweepBatchSize));
+        for (Long id : ids) {
+            if (!submit(id)) {
+                break; // Queue is full again, try on the next sweep
+            }
+        }
+    }
+
+    private boolean submit(Long complaintId) {
+        if (!inFlight.add(complaintId)) {
+            return true;
+        }
+        try {
+            aiVerificationExecutor.execute(() -> {
+                try {
+                    verify(complaintId);
+                } finally {
+                    inFlight.remove(complaintId);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(complaintId);
+            log.warn("AI verification queue full, complaint {} left for the sweeper", complaintId);
+            return false;
+        }
+    }
+
+    private void verify(Long complaintId) {
+        try {
+            // Short read, then the connection goes back to the pool before the slow AI call
+            Complaint complaint = complaintRepository.findById(complaintId).orElse(null);
+            if (complaint == null || complaint.getAiVerified() != null) {
+                return;
+            }
+
+            Boolean isValid = aiValidationService.validateComplaint(
+                    complaint.getImageUrl(), complaint.getCategory(), complaint.getDescription());
+            if (isValid == null) {
+                // AI unavailable: ai_verified stays NULL and the sweeper retries after the outage
+                log.debug("No AI verdict for complaint {}, left for the sweeper", complaintId);
+                return;
+            }
+
+            complaintService.applyVerificationResult(complaintId, complaint.getUser().getId(), isValid);
+        } catch (RuntimeException e) {
+            log.error("AI verification failed for complaint {}", complaintId, e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.society.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.society.backend.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Token buckets per account and per client IP, checked before any password hashing happens
+@Component
+public class LoginRateLimiter {
+
+    private final Cache<String, TokenBucket> accountBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+
+    @Value("${auth.rate-limit.account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${auth.rate-limit.account.refill-per-minute:5}")
+    private int accountRefillPerMinute;
+
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    public LoginRateLimiter() {
+        // Idle buckets are full again after a few minutes anyway, so dropping them loses nothing
+        this.accountBuckets = Caffeine.newBuilder().maximumSize(100_000).expireAfterAccess(Duration.ofMinutes(15)).build();
+        this.ipBuckets = Caffeine.newBuilder().maximumSize(100_000).expireAfterAccess(Duration.ofMinutes(15)).build();
+    }
+
+    public void checkLogin(String email, String clientIp) {
+        if (clientIp != null) {
+            TokenBucket ipBucket = ipBuckets.get(clientIp, k -> new TokenBucket(ipCapacity, ipRefillPerMinute));
+            if (!ipBucket.tryConsume()) {
+                throw new TooManyRequestsException("Too many login attempts from this address. Please wait a minute.");
+            }
+        }
+        if (email != null) {
+            String account = email.trim().toLowerCase(Locale.ROOT);
+            TokenBucket accountBucket = accountBuckets.get(account, k -> new TokenBucket(accountCapacity, accountRefillPerMinute));
+            if (!accountBucket.tryConsume()) {
+                throw new TooManyRequestsException("Too many login attempts for this account. Please wait a minute.");
+            }
+        }
+    }
+
+    static final class TokenBucket {
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / (double) Duration.ofMinutes(1).toNanos();
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        // Tiny critical section with no I/O inside, so the lock is never held for long
+        synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
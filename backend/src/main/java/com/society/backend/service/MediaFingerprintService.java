@@ -0,0 +1,86 @@
+package com.society.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+// Identifies uploaded media by its content rather than by its (random) URL
+@Slf4j
+@Service
+public class MediaFingerprintService {
+
+    private final S3Client s3Client;
+
+    @Value("${supabase.storage.bucket}")
+    private String bucketName;
+
+    @Value("${supabase.storage.public-url}")
+    private String publicUrlPrefix;
+
+    @Value("${complaints.duplicates.fingerprint-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${complaints.duplicates.fingerprint-cache.ttl-hours:6}")
+    private long cacheTtlHours;
+
+    // Objects are stored under unique keys and never overwritten, so a URL's fingerprint never changes
+    private Cache<String, String> fingerprints;
+
+    public MediaFingerprintService(S3Client s3Client) {
+        this.s3Client = s3Client;
+    }
+
+    @PostConstruct
+    void initCache() {
+        fingerprints = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterAccess(Duration.ofHours(cacheTtlHours))
+                .build();
+    }
+
+    public String fingerprint(String mediaUrl) {
+        String cached = fingerprints.getIfPresent(mediaUrl);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (publicUrlPrefix != null && mediaUrl.startsWith(publicUrlPrefix)) {
+            try {
+                // The bucket already hashes the content for us: ETag + size, one HEAD request, no download
+                HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(mediaUrl.substring(publicUrlPrefix.length()))
+                        .build());
+                String fingerprint = "etag:" + head.eTag().replace("\"", "") + ":" + head.contentLength();
+                fingerprints.put(mediaUrl, fingerprint);
+                return fingerprint;
+            } catch (RuntimeException e) {
+                // Not cached, so the next call gets another chance at the real content hash
+                log.warn("Could not read object metadata for {}: {}", mediaUrl, e.getMessage());
+            }
+        }
+        // External media (or bucket unavailable): fall back to the URL itself
+        return "url:" + sha256(mediaUrl);
+    }
+
+    public static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
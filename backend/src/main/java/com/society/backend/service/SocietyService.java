@@ -1,5 +1,6 @@
 package com.society.backend.service;
 
+import com.society.backend.config.CacheConfig;
 import com.society.backend.dto.SocietyDto;
 import com.society.backend.dto.SocietyUpdateDto;
 import com.society.backend.model.Society;
@@ -7,6 +8,9 @@ import com.society.backend.repository.SocietyRepository;
 import lombok.RequiredArgsConstructor;
 
 import org.jspecify.annotations.Nullable;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,6 +19,8 @@ public class SocietyService {
 
     private final SocietyRepository societyRepository;
 
+    // The new society goes straight into the cache: its first lookups are usually right behind the registration
+    @CachePut(cacheNames = CacheConfig.SOCIETIES, key = "#result.id")
     public Society registerSociety(SocietyDto dto) {
         // 1. Check if society already exists
         if (societyRepository.findByName(dto.getName()).isPresent()) {
@@ -32,8 +38,10 @@ public class SocietyService {
     }
 
     // Add this new method
+    @CacheEvict(cacheNames = CacheConfig.SOCIETIES, key = "#id")
     public Society updateSociety(Long id, SocietyUpdateDto dto) {
-        Society society = societyRepository.findById(id)
+        // With the amenities: the response is written after the session has closed
+        Society society = societyRepository.findWithAmenitiesById(id)
                 .orElseThrow(() -> new RuntimeException("Society not found"));
         
         if (dto.getName() != null) society.setName(dto.getName());
@@ -48,8 +56,10 @@ public class SocietyService {
     }
 
     // Inside SocietyService.java
+    // Read-through: societies rarely change, so repeat lookups skip the database until the entry expires or is evicted
+    @Cacheable(cacheNames = CacheConfig.SOCIETIES, key = "#id")
     public Society getSocietyById(Long id) {
-        return societyRepository.findById(id)
+        return societyRepository.findWithAmenitiesById(id)
                 .orElseThrow(() -> new RuntimeException("Society not found with id: " + id));
     }
 }
\ No newline at end of file
@@ -1,19 +1,69 @@
 package com.society.backend.service;
 
+import com.society.backend.dto.CompleteMultipartRequest;
+import com.society.backend.dto.MultipartUploadResponse;
+import com.society.backend.dto.PresignUploadResponse;
+import com.society.backend.exception.ServiceBusyException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedUploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Service
+@Timed(value = "service.calls", histogram = true) // Every public method, tagged with class + method
 public class StorageService {
 
+    // S3 rejects multipart parts smaller than 5MB (except the last one)
+    private static final int MIN_PART_SIZE_MB = 5;
+
+    // Read before deciding whether an upload needs a part buffer at all; most photos fit in it
+    private static final int HEAD_BUFFER_SIZE = 256 * 1024;
+
+    // Keys handed out by this service: a UUID plus an optional short extension
+    private static final Pattern OBJECT_KEY = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,10})?");
+
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
+
+    // Part buffers are capped and reused: with virtual threads nothing else bounds how many uploads
+    // run at once, so without this every concurrent upload would pin its own part-size array
+    private final Semaphore partBufferPermits;
+    private final ConcurrentLinkedQueue<byte[]> idlePartBuffers = new ConcurrentLinkedQueue<>();
+    private final long partBufferWaitMs;
 
     @Value("${supabase.storage.bucket}")
     private String bucketName;
@@ -21,33 +71,295 @@ public class StorageService {
     @Value("${supabase.storage.public-url}")
     private String publicUrlPrefix;
 
-    public StorageService(S3Client s3Client) {
+    @Value("${storage.upload.part-size-mb:8}")
+    private int partSizeMb;
+
+    // Same cap as spring.servlet.multipart.max-file-size, also enforced for raw stream uploads
+    @Value("${storage.upload.max-size-mb:50}")
+    private long maxSizeMb;
+
+    @Value("${storage.presign.expiry-minutes:15}")
+    private long presignExpiryMinutes;
+
+    public StorageService(S3Client s3Client, S3Presigner s3Presigner, MeterRegistry meterRegistry,
+                          @Value("${storage.upload.max-part-buffers:8}") int maxPartBuffers,
+                          @Value("${storage.upload.part-buffer-wait-ms:5000}") long partBufferWaitMs) {
         this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.meterRegistry = meterRegistry;
+        this.partBufferPermits = new Semaphore(maxPartBuffers);
+        this.partBufferWaitMs = partBufferWaitMs;
     }
 
     public String uploadFile(MultipartFile file) throws IOException {
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        
-        // Extract the file extension (e.g., .mp4, .jpg)
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+        // Stream from the servlet's temp file instead of loading the whole upload with getBytes()
+        try (InputStream in = file.getInputStream()) {
+            return uploadStream(in, file.getOriginalFilename(), file.getContentType());
         }
-        
-        // Generate a random unique file name: e.g., "a1b2c3d4-e5f6.mp4"
-        String uniqueFileName = UUID.randomUUID().toString() + extension;
+    }
+
+    // Uploads any stream with at most one part buffer on the heap, however large the file is. Files that
+    // fit in the small head buffer never touch a part buffer; larger ones wait for one from the pool.
+    public String uploadStream(InputStream in, String originalFilename, String contentType) throws IOException {
+        String uniqueFileName = newObjectKey(originalFilename);
 
-        // Prepare the upload request to Supabase
+        // storage.uploads{mode,outcome} (latency) and storage.upload.size{mode} (bytes) per upload
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String mode = "single";
+        String outcome = "success";
+        long size = 0;
+        try {
+            byte[] head = new byte[HEAD_BUFFER_SIZE];
+            int headRead = in.readNBytes(head, 0, head.length);
+            if (headRead < head.length) {
+                putObject(uniqueFileName, contentType, head, headRead);
+                size = headRead;
+            } else {
+                byte[] buffer = acquirePartBuffer();
+                try {
+                    System.arraycopy(head, 0, buffer, 0, headRead);
+                    int firstRead = headRead + in.readNBytes(buffer, headRead, buffer.length - headRead);
+                    if (firstRead < buffer.length) {
+                        // Everything fits in one part, a plain PUT is cheaper than a multipart upload
+                        putObject(uniqueFileName, contentType, buffer, firstRead);
+                        size = firstRead;
+                    } else {
+                        mode = "multipart";
+                        size = multipartUpload(uniqueFileName, contentType, in, buffer);
+                    }
+                } finally {
+                    releasePartBuffer(buffer);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("storage.uploads")
+                    .description("Uploads streamed through the backend to the bucket")
+                    .tags("mode", mode, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            if (size > 0) {
+                DistributionSummary.builder("storage.upload.size")
+                        .baseUnit("bytes")
+                        .tag("mode", mode)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(size);
+            }
+        }
+
+        // Return the final public URL
+        return publicUrlPrefix + uniqueFileName;
+    }
+
+    private void putObject(String key, String contentType, byte[] buffer, int length) {
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucketName)
-                .key(uniqueFileName)
-                .contentType(file.getContentType()) // e.g., video/mp4
+                .key(key)
+                .contentType(contentType) // e.g., video/mp4
                 .build();
+        s3Client.putObject(putObjectRequest, partBody(buffer, length));
+    }
 
-        // Upload the file
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+    // Waits a little for a free part buffer, then gives up with a 503 rather than queueing uploads forever
+    private byte[] acquirePartBuffer() {
+        try {
+            if (!partBufferPermits.tryAcquire(partBufferWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Too many uploads in progress, please retry shortly.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Upload interrupted, please retry.");
+        }
+        int partSize = Math.max(partSizeMb, MIN_PART_SIZE_MB) * 1024 * 1024;
+        byte[] buffer = idlePartBuffers.poll();
+        return buffer != null && buffer.length == partSize ? buffer : new byte[partSize];
+    }
 
-        // Return the final public URL
-        return publicUrlPrefix + uniqueFileName;
+    private void releasePartBuffer(byte[] buffer) {
+        idlePartBuffers.offer(buffer);
+        partBufferPermits.release();
+    }
+
+    // Returns the number of bytes uploaded
+    private long multipartUpload(String key, String contentType, InputStream in, byte[] buffer) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            // The first part is already in the buffer
+            int read = buffer.length;
+            int partNumber = 1;
+            long total = 0;
+            while (read > 0) {
+                total += read;
+                if (total > maxSizeMb * 1024 * 1024) {
+                    throw new IOException("File exceeds the maximum upload size of " + maxSizeMb + "MB");
+                }
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) read)
+                        .build(), partBody(buffer, read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+
+                partNumber++;
+                read = in.readNBytes(buffer, 0, buffer.length);
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            return total;
+        } catch (IOException | RuntimeException e) {
+            // Don't leave orphaned parts in the bucket (they are billed until aborted)
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            throw e;
+        }
+    }
+
+    // Direct-to-bucket upload: the client PUTs the file to the returned URL, no bytes pass through the backend.
+    // The declared size is signed into the URL, so the bucket refuses a body of any other length.
+    public PresignUploadResponse presignUpload(String originalFilename, String contentType, long size) {
+        checkSize(size);
+        String key = newObjectKey(originalFilename);
+        Duration expiry = Duration.ofMinutes(presignExpiryMinutes);
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .build())
+                .build());
+
+        return new PresignUploadResponse(key, presigned.url().toString(), publicUrlPrefix + key, presigned.expiration());
+    }
+
+    // Large videos: one presigned URL per part, the client uploads them (in parallel if it likes) and then calls complete.
+    // Each URL is signed for its part's exact length, so the parts can't add up to more than the declared size.
+    public MultipartUploadResponse presignMultipartUpload(String originalFilename, String contentType, long size) {
+        long partSize = partSizeBytes();
+        checkSize(size);
+
+        String key = newObjectKey(originalFilename);
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        Duration expiry = Duration.ofMinutes(presignExpiryMinutes);
+        int partCount = (int) ((size + partSize - 1) / partSize);
+        List<MultipartUploadResponse.PartUrl> parts = new ArrayList<>(partCount);
+        Instant expiresAt = null;
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            PresignedUploadPartRequest presigned = s3Presigner.presignUploadPart(UploadPartPresignRequest.builder()
+                    .signatureDuration(expiry)
+                    .uploadPartRequest(UploadPartRequest.builder()
+                            .bucket(bucketName)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .contentLength(partNumber < partCount ? partSize : size - partSize * (partCount - 1))
+                            .build())
+                    .build());
+            parts.add(new MultipartUploadResponse.PartUrl(partNumber, presigned.url().toString()));
+            expiresAt = presigned.expiration();
+        }
+
+        return new MultipartUploadResponse(key, uploadId, partSize, parts, expiresAt);
+    }
+
+    // The client says which parts it uploaded, so the result is checked: no more parts than a file of
+    // maxSizeMb needs, and a finished object over the limit is deleted again instead of published
+    public String completeMultipartUpload(CompleteMultipartRequest request) {
+        String key = checkedKey(request.getKey());
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        long maxParts = (maxBytes + partSizeBytes() - 1) / partSizeBytes();
+        if (request.getParts().stream().anyMatch(p -> p.getPartNumber() < 1 || p.getPartNumber() > maxParts)) {
+            throw new IllegalArgumentException("A file of at most " + maxSizeMb + "MB has at most " + maxParts + " parts");
+        }
+        List<CompletedPart> parts = request.getParts().stream()
+                .sorted(Comparator.comparing(CompleteMultipartRequest.Part::getPartNumber))
+                .map(p -> CompletedPart.builder().partNumber(p.getPartNumber()).eTag(p.getEtag()).build())
+                .toList();
+
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .uploadId(request.getUploadId())
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build());
+
+        long size = s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(key).build()).contentLength();
+        if (size > maxBytes) {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(key).build());
+            throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxSizeMb + "MB");
+        }
+        return publicUrlPrefix + key;
+    }
+
+    public void abortMultipartUpload(String key, String uploadId) {
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(checkedKey(key))
+                .uploadId(uploadId)
+                .build());
+    }
+
+    private void checkSize(long size) {
+        if (size <= 0 || size > maxSizeMb * 1024 * 1024) {
+            throw new IllegalArgumentException("File size must be between 1 byte and " + maxSizeMb + "MB");
+        }
+    }
+
+    private long partSizeBytes() {
+        return (long) Math.max(partSizeMb, MIN_PART_SIZE_MB) * 1024 * 1024;
+    }
+
+    // Clients send keys back to us, so only accept the shape we generate
+    private static String checkedKey(String key) {
+        if (key == null || !OBJECT_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid object key");
+        }
+        return key;
+    }
+
+    // Wraps the reused buffer without copying it (RequestBody.fromBytes would copy)
+    private static RequestBody partBody(byte[] buffer, int length) {
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length);
+    }
+
+    private static String newObjectKey(String originalFilename) {
+        String extension = "";
+        
+        // Extract the file extension (e.g., .mp4, .jpg), ignoring anything that isn't a plain extension
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            if (!extension.matches("\\.[A-Za-z0-9]{1,10}")) {
+                extension = "";
+            }
+        }
+        
+        // Generate a random unique file name: e.g., "a1b2c3d4-e5f6.mp4"
+        return UUID.randomUUID().toString() + extension;
     }
-}
\ No newline at end of file
+}
@@ -3,15 +3,17 @@ package com.society.backend.service;
 import com.society.backend.dto.LoginRequest;
 import com.society.backend.dto.LoginResponse;
 import com.society.backend.dto.UserDto;
+import com.society.backend.dto.UserSummaryDto;
 import com.society.backend.model.Society;
 import com.society.backend.model.User;
-import com.society.backend.repository.SocietyRepository;
 import com.society.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.Locale;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import com.society.backend.dto.LoginRequest;
 import com.society.backend.dto.LoginResponse;
@@ -19,22 +21,25 @@ import com.society.backend.util.JwtUtil;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.calls", histogram = true) // Every public method, tagged with class + method
 public class UserService {
 
     private final UserRepository userRepository;
-    private final SocietyRepository societyRepository;
-    private final PasswordEncoder passwordEncoder; // From SecurityConfig
+    private final SocietyService societyService;
+    private final PasswordHashingService passwordHashingService; // BCrypt on its own bounded pool
+    private final LoginRateLimiter loginRateLimiter;
     private final JwtUtil jwtUtil;
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     public User registerUser(UserDto dto) {
         // 1. Check if email exists
         if (userRepository.findByEmail(dto.getEmail()).isPresent()) {
             throw new RuntimeException("Email already registered!");
         }
 
-        // 2. Find the Society
-        Society society = societyRepository.findById(dto.getSocietyId())
-                .orElseThrow(() -> new RuntimeException("Society not found!"));
+        // 2. Find the Society (cached; only its id ends up in the users row)
+        Society society = societyService.getSocietyById(dto.getSocietyId());
 
         // 3. Create User Entity
         User user = new User();
@@ -46,21 +51,30 @@ public class UserService {
         user.setFlatNo(dto.getFlatNo());
         
         // 4. Encrypt Password
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
+        user.setPassword(passwordHashingService.encode(dto.getPassword()));
 
         return userRepository.save(user);
     }
 
-    public LoginResponse login(LoginRequest request) {
+    public LoginResponse login(LoginRequest request, String clientIp) {
+        // 0. Throttle per account and per IP before spending any CPU on BCrypt
+        loginRateLimiter.checkLogin(request.getEmail(), clientIp);
+
         // 1. Find User
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // 2. Check Password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid credentials");
         }
 
+        // Hash made with an older cost factor: upgrade it now that we know the plain password
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            Long userId = user.getId();
+            passwordHashingService.rehashAsync(request.getPassword(), hash -> userRepository.updatePassword(userId, hash));
+        }
+
         // 3. Generate Token
         String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getRole());
 
@@ -71,11 +85,16 @@ public class UserService {
         return userRepository.findBySocietyId(societyId);
     }
 
-    // Fetch users by their role (e.g., "VENDOR")
-    public List<User> getUsersByRole(String role) {
-        // You might want to filter by Society ID later, but this works globally for now
-        return userRepository.findAll().stream()
-                .filter(u -> u.getRole().equalsIgnoreCase(role))
-                .toList();
+    // The society a signed-in user belongs to: admins act on that one only
+    public Long getSocietyId(Long userId) {
+        return userRepository.findSocietyIdById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Fetch one page of users with a role inside a society (vendor dropdowns)
+    public List<UserSummaryDto> getUsersBySocietyAndRole(Long societyId, String role, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return userRepository.findSummariesBySocietyAndRole(
+                societyId, role.toUpperCase(Locale.ROOT), PageRequest.of(Math.max(page, 0), pageSize));
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.society.backend.service;
+
+import com.society.backend.dto.ComplaintFeedResponse;
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.event.ComplaintChangedEvent;
+import com.society.backend.event.ComplaintsBulkChangedEvent;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Vendors' work queues and the auto-assignment of open complaints to them. Both are ordered by
+// complaint_priority (severity, upvotes and age, see V7) and read straight from its partial indexes.
+@Slf4j
+@Service
+@Timed(value = "service.calls", histogram = true)
+public class VendorWorkQueueService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Above this many assignments in one go, the society's live feeds reload instead of getting one event each
+    private static final int MAX_STREAMED_ASSIGNMENTS = 50;
+
+    // Keyset on (priority, id), like the search results
+    private static final String QUEUE_SQL = "SELECT " + ComplaintSearchService.SUMMARY_COLUMNS + """
+            , complaint_priority(c.severity, c.upvotes, c.created_at) AS priority
+            FROM complaints c
+            JOIN users u ON u.id = c.user_id
+            LEFT JOIN users v ON v.id = c.assigned_vendor_id
+            WHERE c.assigned_vendor_id = ? AND c.status = 'IN_PROGRESS'
+              AND (?::float8 IS NULL OR (complaint_priority(c.severity, c.upvotes, c.created_at), c.id) < (?::float8, ?::bigint))
+            ORDER BY complaint_priority(c.severity, c.upvotes, c.created_at) DESC, c.id DESC
+            LIMIT ?
+            """;
+
+    // The society's vendors with the number of complaints they are working on
+    private static final String VENDOR_LOAD_SQL = """
+            SELECT u.id, (SELECT count(*) FROM complaints c WHERE c.assigned_vendor_id = u.id AND c.status = 'IN_PROGRESS') AS load
+            FROM users u
+            WHERE u.society_id = ? AND u.role = 'VENDOR'
+            """;
+
+    // Most urgent first. Rows someone else is changing right now are left for the next run.
+    private static final String NEXT_OPEN_SQL = """
+            SELECT id FROM complaints
+            WHERE society_id = ? AND status = 'OPEN' AND assigned_vendor_id IS NULL
+            ORDER BY complaint_priority(severity, upvotes, created_at) DESC, id DESC
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String ASSIGN_SQL = """
+            UPDATE complaints c SET assigned_vendor_id = a.vendor_id, status = 'IN_PROGRESS', updated_at = now()
+            FROM unnest(?::bigint[], ?::bigint[]) AS a(id, vendor_id)
+            WHERE c.id = a.id AND c.status = 'OPEN' AND c.assigned_vendor_id IS NULL
+            RETURNING c.id, c.category, c.severity, c.upvotes
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ComplaintStatsService complaintStatsService;
+
+    @Value("${complaints.dispatch.enabled:false}")
+    private boolean autoAssignEnabled;
+
+    @Value("${complaints.dispatch.batch-size:500}")
+    private int batchSize;
+
+    @Value("${complaints.dispatch.max-per-vendor:25}")
+    private int maxPerVendor;
+
+    public VendorWorkQueueService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ComplaintStatsService complaintStatsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.complaintStatsService = complaintStatsService;
+    }
+
+    // The vendor's in-progress complaints, most urgent first
+    public ComplaintFeedResponse getWorkQueue(Long vendorId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Double cursorPriority = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorPriority = Double.parseDouble(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        // One extra row tells whether there is a next page
+        List<QueuedComplaint> rows = jdbcTemplate.query(QUEUE_SQL,
+                (rs, rowNum) -> new QueuedComplaint(ComplaintSearchService.SUMMARY.mapRow(rs, rowNum), rs.getDouble("priority")),
+                vendorId, cursorPriority, cursorPriority, cursorId, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            QueuedComplaint last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.priority(), last.complaint().getId());
+        }
+        return new ComplaintFeedResponse(rows.stream().map(QueuedComplaint::complaint).toList(), nextCursor);
+    }
+
+    // Hands the society's open complaints, most urgent first, to its least busy vendors, never taking a
+    // vendor past max-per-vendor. Returns how many were assigned. Safe to run on several nodes at once:
+    // a society being dispatched elsewhere is skipped, and locked complaints are left for the next run.
+    public int dispatch(Long societyId) {
+        List<Long> assigned = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Single bigint key, so any society id fits (see ComplaintStatsService)
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(hashtextextended('vendor-dispatch', ?))",
+                    Boolean.class, societyId);
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+
+            // Least loaded vendor first, lowest id on ties
+            PriorityQueue<long[]> vendors = new PriorityQueue<>(Comparator.<long[]>comparingLong(vendor -> vendor[1])
+                    .thenComparingLong(vendor -> vendor[0]));
+            int capacity = 0;
+            for (long[] vendor : jdbcTemplate.query(VENDOR_LOAD_SQL,
+                    (rs, rowNum) -> new long[]{rs.getLong("id"), rs.getLong("load")}, societyId)) {
+                if (vendor[1] < maxPerVendor) {
+                    vendors.add(vendor);
+                    capacity += (int) (maxPerVendor - vendor[1]);
+                }
+            }
+            if (vendors.isEmpty()) {
+                return;
+            }
+
+            List<Long> complaintIds = jdbcTemplate.queryForList(NEXT_OPEN_SQL, Long.class, societyId, Math.min(batchSize, capacity));
+            if (complaintIds.isEmpty()) {
+                return;
+            }
+            Long[] ids = new Long[complaintIds.size()];
+            Long[] vendorIds = new Long[complaintIds.size()];
+            for (int i = 0; i < ids.length; i++) {
+                long[] vendor = vendors.poll();
+                ids[i] = complaintIds.get(i);
+                vendorIds[i] = vendor[0];
+                vendor[1]++;
+                if (vendor[1] < maxPerVendor) {
+                    vendors.add(vendor);
+                }
+            }
+
+            ComplaintStatsService.Deltas deltas = new ComplaintStatsService.Deltas();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ASSIGN_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", ids));
+                statement.setArray(2, connection.createArrayOf("bigint", vendorIds));
+                return statement;
+            }, rs -> {
+                String category = rs.getString("category");
+                String severity = rs.getString("severity");
+                long upvotes = rs.getLong("upvotes");
+                deltas.add(societyId, "OPEN", category, severity, -1, -upvotes);
+                deltas.add(societyId, "IN_PROGRESS", category, severity, 1, upvotes);
+                assigned.add(rs.getLong("id"));
+            });
+            complaintStatsService.apply(deltas);
+        });
+        publishAssignments(societyId, assigned);
+        return assigned.size();
+    }
+
+    // Off by default: turn on with complaints.dispatch.enabled=true
+    @Scheduled(fixedDelayString = "${complaints.dispatch.interval-ms:60000}",
+            initialDelayString = "${complaints.dispatch.initial-delay-ms:60000}")
+    public void dispatchAll() {
+        if (!autoAssignEnabled) {
+            return;
+        }
+        int total = 0;
+        for (Long societyId : jdbcTemplate.queryForList("SELECT id FROM societies", Long.class)) {
+            try {
+                total += dispatch(societyId);
+            } catch (RuntimeException e) {
+                log.warn("Vendor auto-assignment failed for society {}", societyId, e);
+            }
+        }
+        if (total > 0) {
+            log.info("Auto-assigned {} complaints to vendors", total);
+        }
+    }
+
+    private void publishAssignments(Long societyId, List<Long> assigned) {
+        if (assigned.size() > MAX_STREAMED_ASSIGNMENTS) {
+            eventPublisher.publishEvent(new ComplaintsBulkChangedEvent(Set.of(societyId)));
+            return;
+        }
+        for (Long complaintId : assigned) {
+            eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangedEvent.Type.VENDOR_ASSIGNED, complaintId, societyId));
+        }
+    }
+
+    private static String encodeCursor(double priority, Long id) {
+        String raw = priority + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            Double.parseDouble(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private record QueuedComplaint(ComplaintSummaryDto complaint, double priority) {
+    }
+}
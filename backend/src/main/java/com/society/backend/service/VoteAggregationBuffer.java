@@ -0,0 +1,278 @@
+package com.society.backend.service;
+
+import com.society.backend.repository.ComplaintRepository;
+import com.society.backend.repository.ComplaintVoteRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Group-commits upvotes: votes arriving within one flush interval are written with a single
+// statement per complaint instead of several round-trips per vote. A caller is only answered
+// once its vote is committed, so a crash can drop unacknowledged votes but never acknowledged ones.
+@Slf4j
+@Component
+public class VoteAggregationBuffer {
+
+    static final int ESCALATION_THRESHOLD = 3;
+
+    // Inserts the whole batch (duplicates skipped by the unique constraint) and adds the number of
+    // rows actually inserted to the counter, all in one statement. Returns the new count and the
+    // users whose vote was new.
+    private static final String WRITE_BATCH_SQL = """
+            WITH new_votes AS (
+                INSERT INTO complaint_votes (complaint_id, user_id, created_at)
+                SELECT ?, voter, now() FROM unnest(?::bigint[]) AS voter
+                ON CONFLICT (complaint_id, user_id) DO NOTHING
+                RETURNING user_id
+            ), bumped AS (
+                UPDATE complaints SET upvotes = upvotes + (SELECT count(*) FROM new_votes), updated_at = now()
+                WHERE id = ? AND EXISTS (SELECT 1 FROM new_votes)
+                RETURNING upvotes
+            )
+            SELECT (SELECT upvotes FROM bumped) AS upvotes, ARRAY(SELECT user_id FROM new_votes) AS accepted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintVoteRepository complaintVoteRepository;
+    private final ComplaintStatsService complaintStatsService;
+
+    @Value("${votes.buffer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${votes.buffer.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${votes.buffer.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${votes.buffer.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    // complaintId -> (userId -> caller waiting for the commit). ConcurrentHashMap locks per bin,
+    // so votes on different complaints never contend with each other.
+    private final ConcurrentHashMap<Long, Map<Long, CompletableFuture<Integer>>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private ScheduledExecutorService flusher;
+
+    public VoteAggregationBuffer(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ComplaintRepository complaintRepository,
+                                 ComplaintVoteRepository complaintVoteRepository,
+                                 ComplaintStatsService complaintStatsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.complaintRepository = complaintRepository;
+        this.complaintVoteRepository = complaintVoteRepository;
+        this.complaintStatsService = complaintStatsService;
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "vote-flusher"));
+            flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+            flush(); // Don't leave waiting callers behind
+        }
+    }
+
+    // Records the vote and returns the complaint's new upvote count once it is committed
+    public int vote(Long complaintId, Long userId) {
+        if (!enabled || pendingCount.get() >= maxPending) {
+            // Buffer disabled or saturated: write this vote on its own, right now
+            return writeSingle(complaintId, userId);
+        }
+
+        CompletableFuture<Integer> ack = new CompletableFuture<>();
+        pending.compute(complaintId, (id, votes) -> {
+            if (votes == null) {
+                votes = new LinkedHashMap<>();
+            }
+            // Same user twice within one flush: only the first one counts
+            if (votes.putIfAbsent(userId, ack) == null) {
+                pendingCount.incrementAndGet();
+            } else {
+                ack.completeExceptionally(new RuntimeException("You have already voted on this complaint."));
+            }
+            return votes;
+        });
+
+        try {
+            return ack.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Vote could not be recorded, please retry.", e.getCause());
+        } catch (TimeoutException e) {
+            // Take the vote back out under the same bin lock the flush uses. If a flush already took it,
+            // the vote is being written right now and will count, so the caller is told it went through.
+            AtomicBoolean withdrawn = new AtomicBoolean();
+            pending.computeIfPresent(complaintId, (id, votes) -> {
+                if (votes.remove(userId, ack)) {
+                    withdrawn.set(true);
+                    pendingCount.decrementAndGet();
+                }
+                return votes.isEmpty() ? null : votes;
+            });
+            if (withdrawn.get()) {
+                throw new RuntimeException("Vote could not be recorded, please retry.");
+            }
+            // Its new count isn't known until that flush commits
+            try {
+                return ack.getNow(0);
+            } catch (CompletionException failed) {
+                throw failed.getCause() instanceof RuntimeException runtimeException ? runtimeException : failed;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Vote could not be recorded, please retry.");
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Vote flush failed", e);
+        }
+    }
+
+    void flush() {
+        for (Long complaintId : new ArrayList<>(pending.keySet())) {
+            // remove() takes the same bin lock as compute(), so no vote can slip into a batch after this
+            Map<Long, CompletableFuture<Integer>> votes = pending.remove(complaintId);
+            if (votes == null) {
+                continue;
+            }
+            pendingCount.addAndGet(-votes.size());
+            flushComplaint(complaintId, votes);
+        }
+    }
+
+    private void flushComplaint(Long complaintId, Map<Long, CompletableFuture<Integer>> votes) {
+        Long[] userIds = votes.keySet().toArray(new Long[0]);
+        BatchResult result;
+        try {
+            result = transactionTemplate.execute(status -> writeBatch(complaintId, userIds));
+        } catch (DataIntegrityViolationException e) {
+            // A missing complaint or user fails the whole batch; retry one by one so only the bad vote fails
+            votes.forEach((userId, ack) -> {
+                try {
+                    ack.complete(writeSingle(complaintId, userId));
+                } catch (RuntimeException singleFailure) {
+                    ack.completeExceptionally(singleFailure);
+                }
+            });
+            return;
+        } catch (RuntimeException e) {
+            votes.values().forEach(ack -> ack.completeExceptionally(e));
+            return;
+        }
+
+        // Committed: answer everyone whose vote was new, the rest had voted before
+        votes.forEach((userId, ack) -> {
+            if (result.accepted().contains(userId)) {
+                ack.complete(result.upvotes());
+            } else {
+                ack.completeExceptionally(new RuntimeException("You have already voted on this complaint."));
+            }
+        });
+    }
+
+    private BatchResult writeBatch(Long complaintId, Long[] userIds) {
+        BatchResult result = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(WRITE_BATCH_SQL);
+            statement.setLong(1, complaintId);
+            statement.setArray(2, connection.createArrayOf("bigint", userIds));
+            statement.setLong(3, complaintId);
+            return statement;
+        }, rs -> {
+            rs.next();
+            int upvotes = rs.getInt("upvotes");
+            Array accepted = rs.getArray("accepted");
+            Set<Long> acceptedIds = new HashSet<>(Arrays.asList((Long[]) accepted.getArray()));
+            return new BatchResult(upvotes, acceptedIds);
+        });
+
+        if (result != null) {
+            complaintStatsService.upvoted(complaintId, result.accepted().size());
+            // Auto-Escalation Logic: If it gets 3 upvotes, make it an ACTIVE ticket (the conditional update fires once)
+            if (result.upvotes() >= ESCALATION_THRESHOLD) {
+                escalate(complaintId);
+            }
+        }
+        return result;
+    }
+
+    private int writeSingle(Long complaintId, Long userId) {
+        Integer upvotes;
+        try {
+            upvotes = transactionTemplate.execute(status -> {
+                // Insert-on-conflict + in-database increment: one round-trip, no read-modify-write race
+                Integer count = complaintVoteRepository.insertVoteAndIncrement(complaintId, userId);
+                if (count != null) {
+                    complaintStatsService.upvoted(complaintId, 1);
+                    if (count >= ESCALATION_THRESHOLD) {
+                        escalate(complaintId);
+                    }
+                }
+                return count;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Foreign key violation: the complaint or the user doesn't exist
+            throw new RuntimeException("Complaint or user not found");
+        }
+
+        // Check if user already voted
+        if (upvotes == null) {
+            throw new RuntimeException("You have already voted on this complaint.");
+        }
+        return upvotes;
+    }
+
+    private void escalate(Long complaintId) {
+        if (complaintRepository.escalateIfPending(complaintId) == 1) {
+            complaintStatsService.statusChanged(complaintId, "PENDING_VERIFICATION", "OPEN");
+        }
+    }
+
+    private record BatchResult(int upvotes, Set<Long> accepted) {
+    }
+}
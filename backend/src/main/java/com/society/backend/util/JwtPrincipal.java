@@ -0,0 +1,7 @@
+package com.society.backend.util;
+
+import java.time.Instant;
+
+// What a verified token tells us about the caller; no database lookup needed
+public record JwtPrincipal(Long userId, String email, String role, Instant expiresAt) {
+}
@@ -1,15 +1,25 @@
 package com.society.backend.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
@@ -18,12 +28,42 @@ public class JwtUtil {
     @Value("${JWT_SECRET}")
     private String jwtSecret;
 
+    @Value("${security.jwt.cache-size:10000}")
+    private long cacheSize;
+
     // Token Validity (24 Hours)
     private static final long EXPIRATION_TIME = 86400000; 
 
-    // Helper method to convert the string secret into a cryptographic key
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // The string secret converted into a cryptographic key once, instead of on every call
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Verified token -> principal, each entry living only until its token expires
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String email, Long userId, String role) {
@@ -36,7 +76,30 @@ public class JwtUtil {
                 .setSubject(email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-}
\ No newline at end of file
+
+    // Returns the caller if the token is genuine and not expired. A token seen before is answered
+    // from the cache, so the HMAC is only recomputed once per token.
+    public Optional<JwtPrincipal> verify(String token) {
+        JwtPrincipal cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Number userId = claims.get("userId", Number.class);
+            JwtPrincipal principal = new JwtPrincipal(
+                    userId != null ? userId.longValue() : null,
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.getExpiration().toInstant());
+            verifiedTokens.put(token, principal);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty(); // Bad signature, expired, malformed...
+        }
+    }
+}
@@ -0,0 +1,21 @@
+-- Severity was stored as sent, so "high" or "Urgent" never matched the SLA deadlines (V8) or the
+-- priority head start (V7). New complaints are stored as LOW, MEDIUM, HIGH or EMERGENCY (see
+-- ComplaintService.normalizeSeverity); older ones are brought in line the same way.
+UPDATE complaints
+SET severity = CASE
+        WHEN upper(trim(severity)) IN ('LOW', 'MEDIUM', 'HIGH', 'EMERGENCY') THEN upper(trim(severity))
+        ELSE 'LOW'
+    END
+WHERE severity IS NULL OR severity NOT IN ('LOW', 'MEDIUM', 'HIGH', 'EMERGENCY');
+
+-- The counters are kept per severity: recount them from the corrected rows
+DELETE FROM complaint_stats;
+INSERT INTO complaint_stats (society_id, status, category, severity, complaints, upvotes)
+SELECT society_id,
+       COALESCE(status, 'UNSPECIFIED'),
+       COALESCE(category, 'UNSPECIFIED'),
+       COALESCE(severity, 'UNSPECIFIED'),
+       count(*),
+       COALESCE(sum(upvotes), 0)
+FROM complaints
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,60 @@
+-- Baseline schema, matching what spring.jpa.hibernate.ddl-auto=update used to create.
+-- Everything is IF NOT EXISTS so this also runs cleanly against those existing databases.
+
+CREATE TABLE IF NOT EXISTS societies (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                VARCHAR(255) NOT NULL UNIQUE,
+    address             TEXT,
+    subscription_status VARCHAR(255),
+    created_at          TIMESTAMP(6),
+    registration_number VARCHAR(255),
+    total_wings         INTEGER,
+    total_floors        INTEGER,
+    total_flats         INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS society_amenities (
+    society_id BIGINT NOT NULL REFERENCES societies (id),
+    amenity    VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    society_id       BIGINT       NOT NULL REFERENCES societies (id),
+    full_name        VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL UNIQUE,
+    phone_number     VARCHAR(255),
+    role             VARCHAR(255) NOT NULL,
+    flat_no          VARCHAR(255),
+    password         VARCHAR(255),
+    reputation_score INTEGER      NOT NULL DEFAULT 100,
+    created_at       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS complaints (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    society_id         BIGINT       NOT NULL REFERENCES societies (id),
+    user_id            BIGINT       NOT NULL REFERENCES users (id),
+    title              VARCHAR(255) NOT NULL,
+    description        TEXT,
+    category           VARCHAR(255),
+    status             VARCHAR(255),
+    severity           VARCHAR(255),
+    image_url          TEXT,
+    upvotes            INTEGER      NOT NULL DEFAULT 0,
+    ai_verified        BOOLEAN,
+    assigned_vendor_id BIGINT REFERENCES users (id),
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
+
+-- Added after some databases were first created
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS ai_verified BOOLEAN;
+
+CREATE TABLE IF NOT EXISTS complaint_votes (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    complaint_id BIGINT NOT NULL REFERENCES complaints (id),
+    user_id      BIGINT NOT NULL REFERENCES users (id),
+    created_at   TIMESTAMP(6),
+    CONSTRAINT uk_complaint_votes_complaint_user UNIQUE (complaint_id, user_id)
+);
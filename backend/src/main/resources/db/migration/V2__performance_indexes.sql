@@ -0,0 +1,32 @@
+-- Indexes for the real access paths (ddl-auto only ever created PK/unique indexes).
+
+-- Roles are matched with plain equality now (see User#normalizeRole), fix up older rows
+UPDATE users SET role = UPPER(role) WHERE role <> UPPER(role);
+
+-- Role lookups inside a society (vendor dropdown); also covers the users.society_id foreign key
+CREATE INDEX IF NOT EXISTS idx_users_society_role ON users (society_id, role);
+
+-- Society feed: newest first, keyset on (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_complaints_society_created ON complaints (society_id, created_at DESC, id DESC);
+
+-- Dashboard status filters/counts per society
+CREATE INDEX IF NOT EXISTS idx_complaints_society_status ON complaints (society_id, status);
+
+-- A vendor's assigned complaints
+CREATE INDEX IF NOT EXISTS idx_complaints_assigned_vendor ON complaints (assigned_vendor_id);
+
+-- The residents' complaints (and the complaints.user_id foreign key)
+CREATE INDEX IF NOT EXISTS idx_complaints_user ON complaints (user_id);
+
+-- Only the still-active complaints, which is what the dashboard mostly looks at.
+-- Small compared to the full table because resolved/rejected rows are left out.
+CREATE INDEX IF NOT EXISTS idx_complaints_society_open ON complaints (society_id, created_at DESC)
+    WHERE status IN ('PENDING_VERIFICATION', 'OPEN', 'IN_PROGRESS');
+
+-- Sweeper for complaints still waiting on an AI verdict
+CREATE INDEX IF NOT EXISTS idx_complaints_unverified ON complaints (created_at)
+    WHERE ai_verified IS NULL AND image_url IS NOT NULL;
+
+-- complaint_votes(complaint_id) needs no index of its own: the unique (complaint_id, user_id)
+-- constraint's index already starts with complaint_id. Only the user_id foreign key needs one.
+CREATE INDEX IF NOT EXISTS idx_complaint_votes_user ON complaint_votes (user_id);
@@ -0,0 +1,4 @@
+-- Complaint ids now come from the sequence in blocks of 50 (Complaint#id, allocationSize = 50), so
+-- Hibernate assigns ids without a round-trip per row and can batch the inserts.
+-- Rows inserted with the column default still draw from the same sequence and never collide.
+ALTER TABLE complaints ALTER COLUMN id SET INCREMENT BY 50;
@@ -0,0 +1,24 @@
+-- Per-society complaint counters for the dashboard, kept up to date by every change (see
+-- ComplaintStatsService) so reading them costs the same however many complaints a society has.
+-- One row per (status, category, severity) combination: a few dozen rows per society at most.
+CREATE TABLE IF NOT EXISTS complaint_stats (
+    society_id BIGINT       NOT NULL REFERENCES societies (id),
+    status     VARCHAR(255) NOT NULL,
+    category   VARCHAR(255) NOT NULL,
+    severity   VARCHAR(255) NOT NULL,
+    complaints BIGINT       NOT NULL DEFAULT 0,
+    upvotes    BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (society_id, status, category, severity)
+);
+
+-- Start from the complaints already there
+INSERT INTO complaint_stats (society_id, status, category, severity, complaints, upvotes)
+SELECT society_id,
+       COALESCE(status, 'UNSPECIFIED'),
+       COALESCE(category, 'UNSPECIFIED'),
+       COALESCE(severity, 'UNSPECIFIED'),
+       count(*),
+       COALESCE(sum(upvotes), 0)
+FROM complaints
+GROUP BY 1, 2, 3, 4
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,10 @@
+-- Full-text search over complaints. The document is kept in sync by PostgreSQL itself (a stored
+-- generated column), with the title weighted above the description for ranking.
+-- Adding a stored column rewrites the table once: on a large table run this in a quiet window.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_complaints_search ON complaints USING GIN (search_vector);
@@ -0,0 +1,7 @@
+-- Content fingerprint of a complaint's media (see MediaFingerprintService), so a re-upload of the
+-- same photo/video in the society is recognised as a duplicate. Null for complaints without media.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS media_fingerprint VARCHAR(255);
+
+-- Duplicate lookup by media: only active complaints can absorb a duplicate
+CREATE INDEX IF NOT EXISTS idx_complaints_media_fingerprint ON complaints (society_id, media_fingerprint)
+    WHERE media_fingerprint IS NOT NULL AND status IN ('PENDING_VERIFICATION', 'OPEN', 'IN_PROGRESS');
@@ -0,0 +1,23 @@
+-- Work priority of a complaint, in "hours of waiting": its severity is worth a head start, each
+-- upvote 4 hours, and every hour since it was filed 1 more. The age part is the same "now" for every
+-- row of a query, so ranking by (severity + upvotes - filing time) gives the same order without
+-- depending on the clock, which is what lets it be indexed. Unknown filing times count as oldest.
+-- Changing the weights means replacing this function and rebuilding the two indexes below.
+CREATE OR REPLACE FUNCTION complaint_priority(severity VARCHAR, upvotes INTEGER, created_at TIMESTAMP)
+    RETURNS DOUBLE PRECISION
+    LANGUAGE SQL IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT CASE severity WHEN 'EMERGENCY' THEN 240 WHEN 'HIGH' THEN 72 WHEN 'MEDIUM' THEN 24 ELSE 0 END
+         + 4 * upvotes
+         - extract(epoch FROM COALESCE(created_at, TIMESTAMP '1970-01-01')) / 3600
+$$;
+
+-- A vendor's work queue: its in-progress complaints, most urgent first
+CREATE INDEX IF NOT EXISTS idx_complaints_vendor_queue
+    ON complaints (assigned_vendor_id, complaint_priority(severity, upvotes, created_at) DESC, id DESC)
+    WHERE status = 'IN_PROGRESS';
+
+-- Auto-assignment: a society's open, unassigned complaints, most urgent first
+CREATE INDEX IF NOT EXISTS idx_complaints_dispatch
+    ON complaints (society_id, complaint_priority(severity, upvotes, created_at) DESC, id DESC)
+    WHERE status = 'OPEN' AND assigned_vendor_id IS NULL;
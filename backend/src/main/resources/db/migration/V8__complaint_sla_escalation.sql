@@ -0,0 +1,5 @@
+-- SLA escalation: the complaints still waiting in PENDING_VERIFICATION, oldest first per severity.
+-- Complaints without a severity are treated as LOW. Only pending rows are indexed, so the index
+-- stays small however many complaints the table holds.
+CREATE INDEX IF NOT EXISTS idx_complaints_sla_pending ON complaints ((COALESCE(severity, 'LOW')), created_at)
+    WHERE status = 'PENDING_VERIFICATION';
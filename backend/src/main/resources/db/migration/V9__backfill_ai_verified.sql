@@ -0,0 +1,4 @@
+-- Complaints that moved past PENDING_VERIFICATION before the background verifier existed were already
+-- checked (or waved through) inline. Without a verdict the sweeper would re-check them and change their
+-- authors' reputation again. Complaints still pending keep NULL and get their check.
+UPDATE complaints SET ai_verified = true WHERE ai_verified IS NULL AND status <> 'PENDING_VERIFICATION';
@@ -0,0 +1,40 @@
+package com.society.backend;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// A real PostgreSQL for tests of the native SQL that H2 can't run. One server per test JVM, schema
+// built by the Flyway migrations like in production. Use with @AutoConfigureTestDatabase(replace = NONE).
+@TestConfiguration(proxyBeanMethods = false)
+public class EmbeddedPostgresConfig {
+
+    private static EmbeddedPostgres postgres;
+
+    @Bean
+    DataSource dataSource() {
+        return server().getPostgresDatabase();
+    }
+
+    private static synchronized EmbeddedPostgres server() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is going away anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,49 @@
+package com.society.backend;
+
+import com.society.backend.service.ComplaintBulkService;
+import com.society.backend.service.ComplaintDuplicateDetector;
+import com.society.backend.service.ComplaintService;
+import com.society.backend.service.ComplaintSlaEscalator;
+import com.society.backend.service.ComplaintStatsService;
+import com.society.backend.service.MediaFingerprintService;
+import com.society.backend.service.VendorWorkQueueService;
+import com.society.backend.service.VoteAggregationBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockReset;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.mockito.Mockito.mock;
+
+// The complaint services as the application wires them, settings from application.properties included.
+// Only the media fingerprints (which download from storage) are a mock, reset after every test.
+@TestConfiguration(proxyBeanMethods = false)
+@Import({ComplaintService.class, ComplaintStatsService.class, VoteAggregationBuffer.class,
+        ComplaintDuplicateDetector.class, ComplaintSlaEscalator.class, ComplaintBulkService.class,
+        VendorWorkQueueService.class, TestData.class})
+public class ServiceTestConfig {
+
+    @Bean
+    MediaFingerprintService mediaFingerprintService() {
+        return mock(MediaFingerprintService.class, MockReset.withSettings(MockReset.AFTER));
+    }
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    JsonMapper jsonMapper() {
+        return JsonMapper.builder().findAndAddModules().build();
+    }
+
+    @Bean
+    LocalValidatorFactoryBean validator() {
+        return new LocalValidatorFactoryBean();
+    }
+}
@@ -0,0 +1,67 @@
+package com.society.backend;
+
+import com.society.backend.dto.ComplaintDto;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import com.society.backend.repository.ComplaintRepository;
+import com.society.backend.repository.SocietyRepository;
+import com.society.backend.repository.UserRepository;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Saved rows for tests. Names and emails are unique, so tests that commit (instead of rolling back)
+// don't collide; every row is flushed, so plain SQL in the same transaction sees it.
+public class TestData {
+
+    private final SocietyRepository societyRepository;
+    private final UserRepository userRepository;
+    private final ComplaintRepository complaintRepository;
+
+    public TestData(SocietyRepository societyRepository, UserRepository userRepository,
+                    ComplaintRepository complaintRepository) {
+        this.societyRepository = societyRepository;
+        this.userRepository = userRepository;
+        this.complaintRepository = complaintRepository;
+    }
+
+    public Society society() {
+        Society society = new Society();
+        society.setName("Society " + UUID.randomUUID());
+        return societyRepository.saveAndFlush(society);
+    }
+
+    public User user(Society society, String role) {
+        User user = new User();
+        user.setSociety(society);
+        user.setFullName(role.charAt(0) + role.substring(1).toLowerCase());
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setRole(role);
+        return userRepository.saveAndFlush(user);
+    }
+
+    public Complaint complaint(User author, String title) {
+        return complaint(author, title, complaint -> { });
+    }
+
+    public Complaint complaint(User author, String title, Consumer<Complaint> changes) {
+        Complaint complaint = new Complaint();
+        complaint.setSociety(author.getSociety());
+        complaint.setUser(author);
+        complaint.setTitle(title);
+        complaint.setCategory("PLUMBING");
+        changes.accept(complaint);
+        return complaintRepository.saveAndFlush(complaint);
+    }
+
+    // What a resident posts through ComplaintController
+    public ComplaintDto draft(User author, String title, String category, String severity) {
+        ComplaintDto dto = new ComplaintDto();
+        dto.setUserId(author.getId());
+        dto.setTitle(title);
+        dto.setCategory(category);
+        dto.setSeverity(severity);
+        return dto;
+    }
+}
@@ -0,0 +1,122 @@
+package com.society.backend.repository;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import com.society.backend.service.ComplaintService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The endpoints must run a fixed number of SQL statements, however many rows they return. Results are
+// serialized the way the controllers do, with the session already cleared (open-in-view is off): a lazy
+// association the query didn't fetch fails here instead of being loaded row by row.
+@PostgresServiceTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class QueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private TestData data;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void complaintListRunsConstantQueries(int rows) {
+        Society society = seed(rows);
+        Statistics statistics = statistics();
+
+        List<Complaint> complaints = complaintRepository.findBySocietyId(society.getId());
+        entityManager.clear();
+        jsonMapper.writeValueAsString(complaints);
+
+        assertThat(complaints).hasSize(rows);
+        // One select, fetch-joined down to the society's amenities
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 25})
+    void usersBySocietyRunsConstantQueries(int rows) {
+        Society society = seed(rows);
+        Statistics statistics = statistics();
+
+        List<User> users = userRepository.findBySocietyId(society.getId());
+        entityManager.clear();
+        jsonMapper.writeValueAsString(users);
+
+        assertThat(users).hasSize(rows + 1); // residents + the vendor
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // Create, upvote, status and assign answer with the complaint's summary, read in one query
+    @ParameterizedTest
+    @ValueSource(strings = {"create", "upvote", "status", "assign"})
+    void changedComplaintIsReturnedWithOneQuery(String endpoint) {
+        Society society = data.society();
+        User resident = data.user(society, "RESIDENT");
+        User vendor = data.user(society, "VENDOR");
+        Complaint complaint = data.complaint(resident, "Lift stuck");
+        Complaint changed = switch (endpoint) {
+            case "create" -> complaintService.createComplaint(data.draft(resident, "Gate left open", "SECURITY", "LOW"));
+            case "upvote" -> complaintService.upvoteComplaint(complaint.getId(), data.user(society, "RESIDENT").getId());
+            case "status" -> complaintService.updateComplaintStatus(complaint.getId(), "RESOLVED");
+            default -> complaintService.assignVendor(complaint.getId(), vendor.getId());
+        };
+        Statistics statistics = statistics();
+
+        ComplaintSummaryDto summary = complaintService.getSummary(changed.getId());
+        entityManager.clear();
+        jsonMapper.writeValueAsString(summary);
+
+        assertThat(summary.getUserName()).isEqualTo(resident.getFullName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Society seed(int rows) {
+        Society society = data.society();
+        society.setAmenities(new ArrayList<>(List.of("Gym", "Pool")));
+        User vendor = data.user(society, "VENDOR");
+        for (int i = 0; i < rows; i++) {
+            data.complaint(data.user(society, "RESIDENT"), "Leak " + i, complaint -> complaint.setAssignedVendor(vendor));
+        }
+        return society;
+    }
+}
@@ -0,0 +1,178 @@
+package com.society.backend.service;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.dto.BulkResponse;
+import com.society.backend.dto.BulkRowResult;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import com.society.backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bulk import and status update against PostgreSQL (UPDATE_STATUS_SQL unnests arrays): chunking,
+// per-row results and partial input. Small chunks, so a few rows already span several.
+@PostgresServiceTest
+@TestPropertySource(properties = "complaints.bulk.chunk-size=10")
+class ComplaintBulkServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData data;
+
+    @Autowired
+    private ComplaintBulkService bulkService;
+
+    @Autowired
+    private ComplaintStatsService statsService;
+
+    private Society society;
+    private User resident;
+
+    @BeforeEach
+    void setUp() {
+        society = data.society();
+        resident = data.user(society, "RESIDENT");
+    }
+
+    @Test
+    void importsEveryValidRowAcrossChunks() {
+        StringJoiner rows = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 25; i++) {
+            rows.add(row("Leak " + i));
+        }
+
+        BulkResponse response = bulkService.importComplaints(json(rows.toString()), society.getId());
+
+        assertThat(response.getSucceeded()).isEqualTo(25);
+        assertThat(response.getResults()).extracting(BulkRowResult::getIndex).containsExactlyElementsOf(
+                IntStream.range(0, 25).boxed().toList());
+        assertThat(complaintsInSociety()).isEqualTo(25);
+    }
+
+    @Test
+    void reportsBadRowsAndKeepsTheRest() {
+        String rows = "[" + row("Leak") + ","
+                + "{\"societyId\":" + society.getId() + ",\"userId\":" + resident.getId() + ",\"category\":\"PLUMBING\"},"
+                + "{\"societyId\":" + society.getId() + ",\"userId\":-1,\"title\":\"Ghost\",\"category\":\"PLUMBING\"},"
+                + "{\"societyId\":" + society.getId() + ",\"userId\":" + resident.getId()
+                + ",\"title\":\"Old leak\",\"category\":\"PLUMBING\",\"status\":\"resolved\",\"createdAt\":\"2023-01-15T10:00:00\"}]";
+
+        BulkResponse response = bulkService.importComplaints(json(rows), society.getId());
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Title is required");
+        assertThat(response.getResults().get(2).getError()).isEqualTo("User not found");
+
+        entityManager.clear();
+        Complaint historical = complaintRepository.findById(response.getResults().get(3).getId()).orElseThrow();
+        assertThat(historical.getStatus()).isEqualTo("RESOLVED");
+        assertThat(historical.getCreatedAt()).isEqualTo(LocalDateTime.of(2023, 1, 15, 10, 0));
+        // Past verification already: never picked up by the AI sweeper
+        assertThat(historical.getAiVerified()).isTrue();
+        assertThat(complaintRepository.findById(response.getResults().get(0).getId()).orElseThrow().getAiVerified()).isNull();
+    }
+
+    @Test
+    void keepsRowsBeforeMalformedInput() {
+        BulkResponse response = bulkService.importComplaints(json("[" + row("Leak") + "," + row("Crack") + ", {\"title\": "),
+                society.getId());
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getError()).startsWith("Malformed JSON after row 2");
+        assertThat(complaintsInSociety()).isEqualTo(2);
+    }
+
+    @Test
+    void updatesEveryListedComplaintInOneStatement() {
+        Complaint leak = data.complaint(resident, "Leak");
+        Complaint lift = data.complaint(resident, "Lift stuck");
+
+        BulkResponse response = bulkService.updateStatuses(json("["
+                + statusRow(leak.getId(), "resolved") + ","
+                + statusRow(lift.getId(), "OPEN") + ","
+                + statusRow(lift.getId(), "IN_PROGRESS") + ","
+                + statusRow(-1L, "OPEN") + ","
+                + statusRow(leak.getId(), "CLOSED") + "]"), society.getId());
+
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Overridden by row 2");
+        assertThat(response.getResults().get(3).getError()).isEqualTo("Complaint not found");
+        assertThat(response.getResults().get(4).getError()).startsWith("Status must be one of");
+
+        entityManager.clear();
+        assertThat(complaintRepository.findById(leak.getId()).orElseThrow().getStatus()).isEqualTo("RESOLVED");
+        assertThat(complaintRepository.findById(lift.getId()).orElseThrow().getStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(statsService.getStats(society.getId()).getByStatus())
+                .containsEntry("RESOLVED", 1L).containsEntry("IN_PROGRESS", 1L);
+    }
+
+    @Test
+    void leavesOtherSocietiesAlone() {
+        Society otherSociety = data.society();
+        User neighbour = data.user(otherSociety, "RESIDENT");
+        Complaint theirs = data.complaint(neighbour, "Gate left open");
+        Complaint ours = data.complaint(resident, "Leak");
+
+        BulkResponse update = bulkService.updateStatuses(json("["
+                + statusRow(theirs.getId(), "RESOLVED") + ","
+                + statusRow(ours.getId(), "RESOLVED") + "]"), society.getId());
+        BulkResponse imported = bulkService.importComplaints(json("["
+                + "{\"societyId\":" + otherSociety.getId() + ",\"userId\":" + neighbour.getId()
+                + ",\"title\":\"Planted\",\"category\":\"PLUMBING\"},"
+                + "{\"societyId\":" + society.getId() + ",\"userId\":" + neighbour.getId()
+                + ",\"title\":\"Planted\",\"category\":\"PLUMBING\"}]"), society.getId());
+
+        // Reported like a complaint that doesn't exist
+        assertThat(update.getSucceeded()).isEqualTo(1);
+        assertThat(update.getResults().get(0).getError()).isEqualTo("Complaint not found");
+        assertThat(imported.getSucceeded()).isZero();
+        assertThat(imported.getResults().get(0).getError()).isEqualTo("Complaints can only be imported into your own society");
+        assertThat(imported.getResults().get(1).getError()).isEqualTo("User does not belong to society " + society.getId());
+
+        entityManager.clear();
+        assertThat(complaintRepository.findById(theirs.getId()).orElseThrow().getStatus()).isEqualTo("PENDING_VERIFICATION");
+        assertThat(complaintRepository.findById(ours.getId()).orElseThrow().getStatus()).isEqualTo("RESOLVED");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM complaints WHERE society_id = ?", Long.class,
+                otherSociety.getId())).isEqualTo(1);
+    }
+
+    private long complaintsInSociety() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM complaints WHERE society_id = ?", Long.class, society.getId());
+    }
+
+    private String row(String title) {
+        return "{\"societyId\":" + society.getId() + ",\"userId\":" + resident.getId()
+                + ",\"title\":\"" + title + "\",\"category\":\"PLUMBING\"}";
+    }
+
+    private static String statusRow(Long complaintId, String status) {
+        return "{\"complaintId\":" + complaintId + ",\"status\":\"" + status + "\"}";
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
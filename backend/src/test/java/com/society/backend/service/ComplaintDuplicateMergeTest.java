@@ -0,0 +1,150 @@
+package com.society.backend.service;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.dto.ComplaintDto;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Posting a complaint that repeats an active one, against PostgreSQL (the text match uses full-text search)
+@PostgresServiceTest
+class ComplaintDuplicateMergeTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData data;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private MediaFingerprintService mediaFingerprintService;
+
+    private Society society;
+    private User author;
+    private User neighbour;
+
+    @BeforeEach
+    void setUp() {
+        society = data.society();
+        author = data.user(society, "RESIDENT");
+        neighbour = data.user(society, "RESIDENT");
+    }
+
+    @Test
+    void aNeighbourRepeatingAComplaintUpvotesItInstead() {
+        Complaint original = post(author, "Water leaking from the kitchen pipe", "PLUMBING");
+
+        Complaint merged = post(neighbour, "Kitchen pipe leaking water", "PLUMBING");
+
+        assertThat(merged.getId()).isEqualTo(original.getId());
+        assertThat(merged.getMergedDuplicate()).isTrue();
+        assertThat(merged.getUpvotes()).isEqualTo(1);
+        assertThat(complaintsInSociety()).isEqualTo(1);
+    }
+
+    @Test
+    void theAuthorPostingAgainChangesNothing() {
+        Complaint original = post(author, "Water leaking from the kitchen pipe", "PLUMBING");
+
+        Complaint merged = post(author, "Water leaking from the kitchen pipe", "PLUMBING");
+
+        assertThat(merged.getId()).isEqualTo(original.getId());
+        assertThat(merged.getMergedDuplicate()).isTrue();
+        assertThat(merged.getUpvotes()).isZero();
+        assertThat(complaintsInSociety()).isEqualTo(1);
+    }
+
+    @Test
+    void aNeighbourWhoAlreadyUpvotedIsNotCountedTwice() {
+        Complaint original = post(author, "Water leaking from the kitchen pipe", "PLUMBING");
+        complaintService.upvoteComplaint(original.getId(), neighbour.getId());
+        nextRequest();
+
+        Complaint merged = post(neighbour, "Kitchen pipe leaking water", "PLUMBING");
+
+        assertThat(merged.getId()).isEqualTo(original.getId());
+        assertThat(merged.getUpvotes()).isEqualTo(1);
+    }
+
+    @Test
+    void differentCategoryOrWordsAreNotDuplicates() {
+        post(author, "Water leaking from the kitchen pipe", "PLUMBING");
+
+        assertThat(post(neighbour, "Kitchen pipe leaking water", "CLEANLINESS").getMergedDuplicate()).isNull();
+        assertThat(post(neighbour, "Lift stuck on the third floor", "PLUMBING").getMergedDuplicate()).isNull();
+        assertThat(complaintsInSociety()).isEqualTo(3);
+    }
+
+    @Test
+    void postsOfOnlyStopWordsAreNeverDuplicates() {
+        // Both word sets are empty: their similarity is undefined, not a division by zero
+        post(author, "To be or not to be", "PLUMBING");
+
+        assertThat(post(neighbour, "It is what it is", "PLUMBING").getMergedDuplicate()).isNull();
+        assertThat(complaintsInSociety()).isEqualTo(2);
+    }
+
+    @Test
+    void aPostWithMediaOfItsOwnIsNotMergedOnItsWords() {
+        Complaint original = post(author, "Water leaking from the kitchen pipe", "PLUMBING");
+        when(mediaFingerprintService.fingerprint(anyString())).thenReturn("etag:5d41402abc4b2a76:1024");
+
+        Complaint withPhoto = post(neighbour, "Kitchen pipe leaking water", "PLUMBING", "https://cdn.example.com/leak.jpg");
+
+        assertThat(withPhoto.getId()).isNotEqualTo(original.getId());
+        assertThat(withPhoto.getMergedDuplicate()).isNull();
+        assertThat(withPhoto.getImageUrl()).isEqualTo("https://cdn.example.com/leak.jpg");
+        assertThat(complaintsInSociety()).isEqualTo(2);
+    }
+
+    @Test
+    void theSameMediaIsMergedWhateverTheWords() {
+        when(mediaFingerprintService.fingerprint(anyString())).thenReturn("etag:5d41402abc4b2a76:1024");
+        Complaint original = post(author, "Water leaking from the kitchen pipe", "PLUMBING", "https://cdn.example.com/a.jpg");
+
+        Complaint merged = post(neighbour, "Look at this", "CLEANLINESS", "https://cdn.example.com/b.jpg");
+
+        assertThat(merged.getId()).isEqualTo(original.getId());
+        assertThat(merged.getMergedDuplicate()).isTrue();
+        assertThat(complaintsInSociety()).isEqualTo(1);
+    }
+
+    private Complaint post(User user, String title, String category) {
+        return post(user, title, category, null);
+    }
+
+    private Complaint post(User user, String title, String category, String imageUrl) {
+        ComplaintDto dto = data.draft(user, title, category, null);
+        dto.setImageUrl(imageUrl);
+        Complaint complaint = complaintService.createComplaint(dto);
+        nextRequest();
+        return complaint;
+    }
+
+    // Each call is a request of its own in production: write it out (the detector reads with plain SQL)
+    // and don't let the next one see entities the votes have made stale
+    private void nextRequest() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long complaintsInSociety() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM complaints WHERE society_id = ?", Long.class, society.getId());
+    }
+}
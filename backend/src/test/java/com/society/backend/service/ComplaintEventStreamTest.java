@@ -0,0 +1,117 @@
+package com.society.backend.service;
+
+import com.society.backend.controller.ComplaintController;
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.event.ComplaintChangedEvent;
+import com.society.backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Drives the SSE endpoint through MockMvc and reads the raw event stream off the response
+class ComplaintEventStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private ComplaintEventStream eventStream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ComplaintRepository complaintRepository = mock(ComplaintRepository.class);
+        when(complaintRepository.findSummaryById(anyLong())).thenAnswer(invocation -> {
+            ComplaintSummaryDto summary = new ComplaintSummaryDto();
+            summary.setId(invocation.getArgument(0));
+            summary.setStatus("OPEN");
+            summary.setCreatedAt(LocalDateTime.now());
+            return Optional.of(summary);
+        });
+
+        eventStream = new ComplaintEventStream(complaintRepository);
+        ReflectionTestUtils.setField(eventStream, "historySize", 200);
+        ReflectionTestUtils.setField(eventStream, "bufferSize", 16);
+        ReflectionTestUtils.setField(eventStream, "maxConnections", 10);
+        ReflectionTestUtils.setField(eventStream, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(eventStream, "heartbeatMs", 60_000L);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ComplaintController(mock(ComplaintService.class), eventStream,
+                mock(ComplaintBulkService.class), mock(ComplaintSearchService.class),
+                mock(VendorWorkQueueService.class), mock(UserService.class))).build();
+    }
+
+    @Test
+    void pushesChangesToSubscribersOfTheSociety() throws Exception {
+        MockHttpServletResponse society1 = subscribe(1L, null);
+        MockHttpServletResponse society2 = subscribe(2L, null);
+
+        eventStream.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangedEvent.Type.CREATED, 42L, 1L));
+
+        await().untilAsserted(() -> assertThat(society1.getContentAsString())
+                .contains("event:CREATED")
+                .contains("\"id\":42"));
+        assertThat(society2.getContentAsString()).doesNotContain("CREATED");
+    }
+
+    @Test
+    void resumesFromLastEventId() throws Exception {
+        MockHttpServletResponse first = subscribe(1L, null);
+        eventStream.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangedEvent.Type.CREATED, 1L, 1L));
+        await().untilAsserted(() -> assertThat(first.getContentAsString()).contains("event:CREATED"));
+        String lastSeen = lastEventId(first.getContentAsString());
+
+        // Missed while "disconnected"
+        eventStream.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangedEvent.Type.UPVOTED, 1L, 1L));
+        eventStream.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangedEvent.Type.VENDOR_ASSIGNED, 1L, 1L));
+
+        MockHttpServletResponse resumed = subscribe(1L, lastSeen);
+
+        await().untilAsserted(() -> assertThat(resumed.getContentAsString())
+                .contains("event:UPVOTED")
+                .contains("event:VENDOR_ASSIGNED"));
+        assertThat(resumed.getContentAsString()).doesNotContain("event:CREATED");
+    }
+
+    @Test
+    void unknownEventIdAsksForResync() throws Exception {
+        MockHttpServletResponse response = subscribe(1L, "from-another-run-7");
+
+        await().untilAsserted(() -> assertThat(response.getContentAsString()).contains("event:resync"));
+    }
+
+    private MockHttpServletResponse subscribe(Long societyId, String lastEventId) throws Exception {
+        var requestBuilder = get("/api/complaints/society/{societyId}/events", societyId);
+        if (lastEventId != null) {
+            requestBuilder.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private static String lastEventId(String stream) {
+        Matcher matcher = EVENT_ID.matcher(stream);
+        String id = null;
+        while (matcher.find()) {
+            id = matcher.group(1);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,71 @@
+package com.society.backend.service;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Severities sent in any case get the deadline of the severity they name, not the LOW fallback
+@PostgresServiceTest
+class ComplaintSlaEscalatorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData data;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private ComplaintSlaEscalator slaEscalator;
+
+    @Test
+    void mixedCaseSeveritiesGetTheirOwnSla() {
+        Society society = data.society();
+        User author = data.user(society, "RESIDENT");
+
+        Complaint lift = complaintService.createComplaint(data.draft(author, "Lift stuck", "ELECTRICAL", "emergency"));
+        Complaint leak = complaintService.createComplaint(data.draft(author, "Kitchen pipe leaking", "PLUMBING", " High "));
+        Complaint gate = complaintService.createComplaint(data.draft(author, "Gate left open", "SECURITY", "urgent"));
+        entityManager.flush();
+        assertThat(severityOf(lift)).isEqualTo("EMERGENCY");
+        assertThat(severityOf(leak)).isEqualTo("HIGH");
+        assertThat(severityOf(gate)).isEqualTo("LOW");
+
+        // Past the HIGH and EMERGENCY deadlines, well inside LOW's three days
+        jdbcTemplate.update("UPDATE complaints SET created_at = ? WHERE society_id = ?",
+                LocalDateTime.now().minusHours(5), society.getId());
+        assertThat(slaEscalator.escalateBatch()).isEqualTo(2);
+
+        assertThat(statusOf(lift)).isEqualTo("OPEN");
+        assertThat(statusOf(leak)).isEqualTo("OPEN");
+        assertThat(statusOf(gate)).isEqualTo("PENDING_VERIFICATION");
+
+        // The feed filter matches whatever case it is given too
+        assertThat(complaintService.getComplaintFeed(society.getId(), null, null, "high", null, 20).getItems())
+                .extracting(ComplaintSummaryDto::getId).containsExactly(leak.getId());
+    }
+
+    private String severityOf(Complaint complaint) {
+        return jdbcTemplate.queryForObject("SELECT severity FROM complaints WHERE id = ?", String.class, complaint.getId());
+    }
+
+    private String statusOf(Complaint complaint) {
+        return jdbcTemplate.queryForObject("SELECT status FROM complaints WHERE id = ?", String.class, complaint.getId());
+    }
+}
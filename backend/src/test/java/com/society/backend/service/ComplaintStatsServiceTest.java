@@ -0,0 +1,138 @@
+package com.society.backend.service;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.dto.ComplaintStatsDto;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import com.society.backend.repository.SocietyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The counters against a recount of the complaints table, after every kind of change that moves them
+@PostgresServiceTest
+class ComplaintStatsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestData data;
+
+    @Autowired
+    private SocietyRepository societyRepository;
+
+    @Autowired
+    private ComplaintStatsService statsService;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private ComplaintSlaEscalator slaEscalator;
+
+    private Society society;
+
+    @BeforeEach
+    void setUp() {
+        society = data.society();
+    }
+
+    @Test
+    void countersMatchARecountAfterEveryKindOfChange() {
+        User author = data.user(society, "RESIDENT");
+        User vendor = data.user(society, "VENDOR");
+
+        Complaint leak = complaintService.createComplaint(data.draft(author, "Kitchen pipe leaking", "PLUMBING", "HIGH"));
+        Complaint lift = complaintService.createComplaint(data.draft(author, "Lift stuck", "ELECTRICAL", "EMERGENCY"));
+        Complaint litter = complaintService.createComplaint(data.draft(author, "Litter in the lobby", null, null));
+        Complaint gate = complaintService.createComplaint(data.draft(author, "Gate left open", "SECURITY", "MEDIUM"));
+
+        // Three upvotes open the leak
+        for (int i = 0; i < 3; i++) {
+            complaintService.upvoteComplaint(leak.getId(), data.user(society, "RESIDENT").getId());
+        }
+        nextRequest();
+        complaintService.assignVendor(leak.getId(), vendor.getId());
+        nextRequest();
+        complaintService.updateComplaintStatus(lift.getId(), "resolved");
+        nextRequest();
+        complaintService.upvoteComplaint(litter.getId(), author.getId());
+        nextRequest();
+        complaintService.applyVerificationResult(litter.getId(), author.getId(), false);
+
+        // The gate waited past its SLA
+        jdbcTemplate.update("UPDATE complaints SET created_at = ? WHERE id = ?", LocalDateTime.now().minusDays(2), gate.getId());
+        assertThat(slaEscalator.escalateBatch()).isEqualTo(1);
+
+        ComplaintStatsDto stats = statsService.getStats(society.getId());
+        assertThat(stats).usingRecursiveComparison().isEqualTo(recount());
+        assertThat(stats.getByStatus()).containsEntry("IN_PROGRESS", 1L).containsEntry("RESOLVED", 1L)
+                .containsEntry("REJECTED", 1L).containsEntry("OPEN", 1L);
+        assertThat(stats.getUpvotes()).isEqualTo(4);
+    }
+
+    @Test
+    void reconcileRepairsCountersThatDrifted() {
+        User author = data.user(society, "RESIDENT");
+        complaintService.createComplaint(data.draft(author, "Kitchen pipe leaking", "PLUMBING", "HIGH"));
+        complaintService.createComplaint(data.draft(author, "Lift stuck", "ELECTRICAL", "LOW"));
+        // Edited by hand, behind the counters' back
+        jdbcTemplate.update("UPDATE complaints SET status = 'RESOLVED', upvotes = 7 WHERE society_id = ?", society.getId());
+
+        statsService.reconcile();
+
+        assertThat(statsService.getStats(society.getId())).usingRecursiveComparison().isEqualTo(recount());
+    }
+
+    @Test
+    void societyIdsPastTheIntRangeCanBeLocked() {
+        society = societyRepository.findById(jdbcTemplate.queryForObject(
+                "INSERT INTO societies (id, name) VALUES (3000000000, 'Big Society') RETURNING id", Long.class)).orElseThrow();
+        User author = data.user(society, "RESIDENT");
+
+        // Every change takes the society's lock shared, the recount exclusive
+        Complaint leak = complaintService.createComplaint(data.draft(author, "Kitchen pipe leaking", "PLUMBING", "HIGH"));
+        nextRequest();
+        complaintService.updateComplaintStatus(leak.getId(), "RESOLVED");
+        statsService.reconcile();
+
+        assertThat(statsService.getStats(society.getId())).usingRecursiveComparison().isEqualTo(recount());
+    }
+
+    // Each call is a request of its own in production: it must not see entities cached by the one before,
+    // which the votes (plain SQL updates) have made stale
+    private void nextRequest() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // The same totals counted straight from the complaints table
+    private ComplaintStatsDto recount() {
+        ComplaintStatsDto expected = new ComplaintStatsDto();
+        expected.setSocietyId(society.getId());
+        jdbcTemplate.query("""
+                SELECT COALESCE(status, 'UNSPECIFIED') AS status, COALESCE(category, 'UNSPECIFIED') AS category,
+                       COALESCE(severity, 'UNSPECIFIED') AS severity, upvotes
+                FROM complaints WHERE society_id = ?
+                """, rs -> {
+            expected.setTotal(expected.getTotal() + 1);
+            expected.setUpvotes(expected.getUpvotes() + rs.getLong("upvotes"));
+            expected.getByStatus().merge(rs.getString("status"), 1L, Long::sum);
+            expected.getByCategory().merge(rs.getString("category"), 1L, Long::sum);
+            expected.getBySeverity().merge(rs.getString("severity"), 1L, Long::sum);
+        }, society.getId());
+        return expected;
+    }
+}
@@ -0,0 +1,219 @@
+package com.society.backend.service;
+
+import com.society.backend.dto.CompleteMultipartRequest;
+import com.society.backend.dto.MultipartUploadResponse;
+import com.society.backend.dto.PresignUploadResponse;
+import com.society.backend.exception.ServiceBusyException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs StorageService against a tiny in-process S3 stand-in instead of the real bucket
+class StorageServiceTest {
+
+    private HttpServer s3Stub;
+    private S3Client s3Client;
+    private S3Presigner s3Presigner;
+    private StorageService storageService;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile long storedObjectSize;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        s3Stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Answers just enough of the S3 API for the calls under test, and records each one as "METHOD path?query"
+        s3Stub.createContext("/", exchange -> {
+            String query = exchange.getRequestURI().getRawQuery();
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + (query != null ? "?" + query : ""));
+            exchange.getRequestBody().readAllBytes();
+            switch (exchange.getRequestMethod()) {
+                case "HEAD" -> {
+                    exchange.getResponseHeaders().set("Content-Length", String.valueOf(storedObjectSize));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "DELETE" -> exchange.sendResponseHeaders(204, -1);
+                case "POST" -> {
+                    byte[] body = (query != null && query.contains("uploadId") ? """
+                            <?xml version="1.0" encoding="UTF-8"?>
+                            <CompleteMultipartUploadResult>
+                              <Bucket>media</Bucket>
+                              <Key>ignored</Key>
+                              <ETag>"etag"</ETag>
+                            </CompleteMultipartUploadResult>
+                            """ : """
+                            <?xml version="1.0" encoding="UTF-8"?>
+                            <InitiateMultipartUploadResult>
+                              <Bucket>media</Bucket>
+                              <Key>ignored</Key>
+                              <UploadId>stub-upload-id</UploadId>
+                            </InitiateMultipartUploadResult>
+                            """).getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+                default -> exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        s3Stub.start();
+
+        URI endpoint = URI.create("http://localhost:" + s3Stub.getAddress().getPort());
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test"));
+        S3Configuration pathStyle = S3Configuration.builder().pathStyleAccessEnabled(true).build();
+
+        s3Client = S3Client.builder()
+                .endpointOverride(endpoint)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(pathStyle)
+                .region(Region.US_EAST_1)
+                .build();
+        s3Presigner = S3Presigner.builder()
+                .endpointOverride(endpoint)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(pathStyle)
+                .region(Region.US_EAST_1)
+                .build();
+
+        storageService = new StorageService(s3Client, s3Presigner, new SimpleMeterRegistry(), 1, 0);
+        ReflectionTestUtils.setField(storageService, "bucketName", "media");
+        ReflectionTestUtils.setField(storageService, "publicUrlPrefix", "https://cdn.example.com/media/");
+        ReflectionTestUtils.setField(storageService, "partSizeMb", 8);
+        ReflectionTestUtils.setField(storageService, "maxSizeMb", 50L);
+        ReflectionTestUtils.setField(storageService, "presignExpiryMinutes", 15L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        s3Presigner.close();
+        s3Stub.stop(0);
+    }
+
+    @Test
+    void presignUploadReturnsSignedPutUrlForNewKey() {
+        PresignUploadResponse response = storageService.presignUpload("leak.mp4", "video/mp4", 1024);
+
+        assertThat(response.getKey()).endsWith(".mp4");
+        assertThat(response.getUploadUrl())
+                .startsWith("http://localhost:" + s3Stub.getAddress().getPort() + "/media/" + response.getKey())
+                .contains("X-Amz-Signature=")
+                .contains("content-length"); // Signed: the bucket refuses a body of any other size
+        assertThat(response.getPublicUrl()).isEqualTo("https://cdn.example.com/media/" + response.getKey());
+        assertThat(response.getExpiresAt()).isNotNull();
+    }
+
+    @Test
+    void presignMultipartUploadSignsOneUrlPerPart() {
+        long size = 20L * 1024 * 1024; // 8MB + 8MB + 4MB
+
+        MultipartUploadResponse response = storageService.presignMultipartUpload("leak.mp4", "video/mp4", size);
+
+        assertThat(response.getUploadId()).isEqualTo("stub-upload-id");
+        assertThat(response.getPartSize()).isEqualTo(8L * 1024 * 1024);
+        assertThat(response.getParts()).extracting(MultipartUploadResponse.PartUrl::getPartNumber).containsExactly(1, 2, 3);
+        assertThat(response.getParts().get(2).getUploadUrl()).contains("partNumber=3", "uploadId=stub-upload-id", "content-length");
+    }
+
+    @Test
+    void presignUploadRejectsFilesOverTheLimit() {
+        assertThatThrownBy(() -> storageService.presignUpload("leak.mp4", "video/mp4", 51L * 1024 * 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void completeMultipartUploadDeletesAnObjectOverTheLimit() {
+        storedObjectSize = 60L * 1024 * 1024;
+        MultipartUploadResponse upload = storageService.presignMultipartUpload("leak.mp4", "video/mp4", 20L * 1024 * 1024);
+
+        assertThatThrownBy(() -> storageService.completeMultipartUpload(complete(upload.getKey(), 1, 2, 3)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maximum upload size");
+        assertThat(requests).contains("DELETE /media/" + upload.getKey());
+    }
+
+    @Test
+    void completeMultipartUploadRejectsMorePartsThanTheLimitAllows() {
+        MultipartUploadResponse upload = storageService.presignMultipartUpload("leak.mp4", "video/mp4", 20L * 1024 * 1024);
+
+        // 50MB in 8MB parts is 7 parts at most
+        assertThatThrownBy(() -> storageService.completeMultipartUpload(complete(upload.getKey(), 1, 8)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(requests).noneMatch(request -> request.contains("uploadId=stub-upload-id") && request.startsWith("POST"));
+    }
+
+    @Test
+    void completeMultipartUploadPublishesAnObjectWithinTheLimit() {
+        storedObjectSize = 20L * 1024 * 1024;
+        MultipartUploadResponse upload = storageService.presignMultipartUpload("leak.mp4", "video/mp4", storedObjectSize);
+
+        String url = storageService.completeMultipartUpload(complete(upload.getKey(), 1, 2, 3));
+
+        assertThat(url).isEqualTo("https://cdn.example.com/media/" + upload.getKey());
+        assertThat(requests).noneMatch(request -> request.startsWith("DELETE"));
+    }
+
+    @Test
+    void completeMultipartUploadRejectsKeysWeDidNotIssue() {
+        CompleteMultipartRequest.Part part = new CompleteMultipartRequest.Part();
+        part.setPartNumber(1);
+        part.setEtag("etag");
+        CompleteMultipartRequest request = new CompleteMultipartRequest();
+        request.setKey("../other-bucket/secret.mp4");
+        request.setUploadId("stub-upload-id");
+        request.setParts(List.of(part));
+
+        assertThatThrownBy(() -> storageService.completeMultipartUpload(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void smallUploadsDoNotNeedAPartBuffer() throws Exception {
+        ReflectionTestUtils.setField(storageService, "partBufferPermits", new Semaphore(0));
+
+        String url = storageService.uploadStream(new ByteArrayInputStream(new byte[100 * 1024]), "pothole.jpg", "image/jpeg");
+
+        assertThat(url).startsWith("https://cdn.example.com/media/").endsWith(".jpg");
+    }
+
+    @Test
+    void largeUploadsGetA503WhenNoPartBufferIsFree() {
+        ReflectionTestUtils.setField(storageService, "partBufferPermits", new Semaphore(0));
+
+        assertThatThrownBy(() -> storageService.uploadStream(new ByteArrayInputStream(new byte[1024 * 1024]), "leak.mp4", "video/mp4"))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    private static CompleteMultipartRequest complete(String key, int... partNumbers) {
+        CompleteMultipartRequest request = new CompleteMultipartRequest();
+        request.setKey(key);
+        request.setUploadId("stub-upload-id");
+        request.setParts(Arrays.stream(partNumbers).mapToObj(partNumber -> {
+            CompleteMultipartRequest.Part part = new CompleteMultipartRequest.Part();
+            part.setPartNumber(partNumber);
+            part.setEtag("etag-" + partNumber);
+            return part;
+        }).toList());
+        return request;
+    }
+}
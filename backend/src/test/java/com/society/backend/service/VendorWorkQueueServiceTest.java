@@ -0,0 +1,190 @@
+package com.society.backend.service;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.dto.ComplaintFeedResponse;
+import com.society.backend.dto.ComplaintSummaryDto;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Work queues and auto-assignment against PostgreSQL (complaint_priority, keyset on a function, SKIP LOCKED).
+// The tests that hold locks from a second connection commit their data, in a society of their own.
+@PostgresServiceTest
+@TestPropertySource(properties = "complaints.dispatch.max-per-vendor=3")
+class VendorWorkQueueServiceTest {
+
+    private static final LocalDateTime FILED = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Autowired
+    private VendorWorkQueueService workQueueService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TestData data;
+
+    private Society society;
+    private User resident;
+
+    @BeforeEach
+    void setUp() {
+        society = data.society();
+        resident = data.user(society, "RESIDENT");
+    }
+
+    @Test
+    void queueIsMostUrgentFirstAcrossPages() {
+        User vendor = data.user(society, "VENDOR");
+        Complaint oldHigh = assigned(vendor, "HIGH", 0, FILED.minusHours(100));
+        Complaint low1 = assigned(vendor, "LOW", 0, FILED);
+        Complaint medium = assigned(vendor, "MEDIUM", 0, FILED);
+        Complaint low2 = assigned(vendor, "LOW", 0, FILED);
+        Complaint emergency = assigned(vendor, "EMERGENCY", 0, FILED);
+        Complaint upvotedLow = assigned(vendor, "LOW", 10, FILED);
+        Complaint low3 = assigned(vendor, "LOW", 0, FILED);
+        Complaint high = assigned(vendor, "HIGH", 0, FILED);
+        // Not in the queue: someone else's, and one already resolved
+        assigned(data.user(society, "VENDOR"), "EMERGENCY", 0, FILED);
+        data.complaint(resident, "Resolved", complaint -> {
+            complaint.setAssignedVendor(vendor);
+            complaint.setStatus("RESOLVED");
+        });
+
+        List<Long> queue = new ArrayList<>();
+        String cursor = null;
+        do {
+            ComplaintFeedResponse page = workQueueService.getWorkQueue(vendor.getId(), cursor, 3);
+            page.getItems().stream().map(ComplaintSummaryDto::getId).forEach(queue::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Severity head start, 4 hours per upvote, 1 per hour waited; equal priorities newest id first
+        assertThat(queue).containsExactly(emergency.getId(), oldHigh.getId(), high.getId(), upvotedLow.getId(),
+                medium.getId(), low3.getId(), low2.getId(), low1.getId());
+    }
+
+    @Test
+    void dispatchGivesTheMostUrgentToTheLeastBusyWithinCapacity() {
+        User busy = data.user(society, "VENDOR");
+        User idle = data.user(society, "VENDOR");
+        User full = data.user(society, "VENDOR");
+        for (int i = 0; i < 2; i++) {
+            assigned(busy, "LOW", 0, FILED);
+        }
+        for (int i = 0; i < 3; i++) {
+            assigned(full, "LOW", 0, FILED);
+        }
+        Complaint emergency = open("EMERGENCY");
+        Complaint high = open("HIGH");
+        Complaint medium = open("MEDIUM");
+        Complaint leftOver = open("LOW");
+        Complaint low = open("LOW"); // Same priority as leftOver, newer id: goes first
+
+        // Room for 4 more: 1 with the busy vendor, 3 with the idle one, none with the full one
+        assertThat(workQueueService.dispatch(society.getId())).isEqualTo(4);
+
+        assertThat(vendorOf(emergency)).isEqualTo(idle.getId());
+        assertThat(vendorOf(high)).isEqualTo(idle.getId());
+        // Both at 2 now: the lower id goes first
+        assertThat(vendorOf(medium)).isEqualTo(busy.getId());
+        assertThat(vendorOf(low)).isEqualTo(idle.getId());
+        assertThat(vendorOf(leftOver)).isNull();
+        assertThat(load(busy)).isEqualTo(3);
+        assertThat(load(idle)).isEqualTo(3);
+        assertThat(load(full)).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void dispatchLeavesComplaintsLockedElsewhereForTheNextRun() throws SQLException {
+        data.user(society, "VENDOR");
+        Complaint emergency = open("EMERGENCY");
+        Complaint high = open("HIGH");
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            holdLock(other, "SELECT id FROM complaints WHERE id = ? FOR UPDATE", emergency.getId());
+
+            assertThat(workQueueService.dispatch(society.getId())).isEqualTo(1);
+            other.rollback();
+        }
+
+        assertThat(vendorOf(emergency)).isNull();
+        assertThat(vendorOf(high)).isNotNull();
+        assertThat(workQueueService.dispatch(society.getId())).isEqualTo(1);
+        assertThat(vendorOf(emergency)).isNotNull();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void aSocietyBeingDispatchedElsewhereIsSkipped() throws SQLException {
+        data.user(society, "VENDOR");
+        Complaint emergency = open("EMERGENCY");
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            holdLock(other, "SELECT pg_advisory_xact_lock(hashtextextended('vendor-dispatch', ?))", society.getId());
+
+            assertThat(workQueueService.dispatch(society.getId())).isZero();
+            other.rollback();
+        }
+
+        assertThat(vendorOf(emergency)).isNull();
+    }
+
+    private Complaint assigned(User vendor, String severity, int upvotes, LocalDateTime createdAt) {
+        return data.complaint(resident, severity + " complaint", complaint -> {
+            complaint.setAssignedVendor(vendor);
+            complaint.setStatus("IN_PROGRESS");
+            complaint.setSeverity(severity);
+            complaint.setUpvotes(upvotes);
+            complaint.setCreatedAt(createdAt);
+        });
+    }
+
+    private Complaint open(String severity) {
+        return data.complaint(resident, severity + " complaint", complaint -> {
+            complaint.setStatus("OPEN");
+            complaint.setSeverity(severity);
+            complaint.setCreatedAt(FILED);
+        });
+    }
+
+    private Long vendorOf(Complaint complaint) {
+        return jdbcTemplate.queryForObject("SELECT assigned_vendor_id FROM complaints WHERE id = ?", Long.class, complaint.getId());
+    }
+
+    private long load(User vendor) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM complaints WHERE assigned_vendor_id = ? AND status = 'IN_PROGRESS'",
+                Long.class, vendor.getId());
+    }
+
+    private static void holdLock(Connection connection, String sql, Long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, id);
+            statement.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.society.backend.service;
+
+import com.society.backend.PostgresServiceTest;
+import com.society.backend.TestData;
+import com.society.backend.model.Complaint;
+import com.society.backend.model.Society;
+import com.society.backend.model.User;
+import com.society.backend.repository.ComplaintRepository;
+import com.society.backend.repository.ComplaintVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Group commit against PostgreSQL (the batch statement uses arrays and ON CONFLICT). Voters block until
+// a flush answers them, so the data is committed for real and every test uses a society of its own.
+@PostgresServiceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoteAggregationBufferTest {
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ComplaintVoteRepository complaintVoteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ComplaintStatsService statsService;
+
+    @Autowired
+    private TestData data;
+
+    private VoteAggregationBuffer buffer;
+    private Society society;
+    private Complaint complaint;
+
+    @BeforeEach
+    void setUp() {
+        // A buffer of the test's own, its flusher thread not started: each test flushes by hand
+        buffer = new VoteAggregationBuffer(jdbcTemplate, transactionManager, complaintRepository,
+                complaintVoteRepository, statsService);
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "maxPending", 10000);
+        ReflectionTestUtils.setField(buffer, "ackTimeoutMs", 10000L);
+
+        society = data.society();
+        complaint = data.complaint(resident(), "Lift stuck");
+    }
+
+    @Test
+    void flushWritesTheWaitingVotesAsOneBatch() {
+        List<User> voters = IntStream.range(0, 3).mapToObj(i -> resident()).toList();
+
+        List<CompletableFuture<Integer>> acks = voters.stream().map(voter -> voteAsync(voter)).toList();
+        awaitPending(3);
+        buffer.flush();
+
+        // Everyone in the batch gets the count after the whole batch
+        assertThat(acks).allSatisfy(ack -> assertThat(ack.join()).isEqualTo(3));
+        Complaint saved = complaintRepository.findById(complaint.getId()).orElseThrow();
+        assertThat(saved.getUpvotes()).isEqualTo(3);
+        assertThat(saved.getStatus()).isEqualTo("OPEN");
+    }
+
+    @Test
+    void countsOneVotePerUser() {
+        User voter = resident();
+        User earlierVoter = resident();
+        ReflectionTestUtils.setField(buffer, "maxPending", 0);
+        buffer.vote(complaint.getId(), earlierVoter.getId());
+        ReflectionTestUtils.setField(buffer, "maxPending", 10000);
+
+        CompletableFuture<Integer> first = voteAsync(voter);
+        awaitPending(1);
+        CompletableFuture<Integer> second = voteAsync(voter);
+        CompletableFuture<Integer> again = voteAsync(earlierVoter);
+        awaitPending(2);
+        buffer.flush();
+
+        assertThat(first.join()).isEqualTo(2);
+        assertThatThrownBy(second::join).hasMessageContaining("already voted");
+        assertThatThrownBy(again::join).hasMessageContaining("already voted");
+        assertThat(complaintRepository.findById(complaint.getId()).orElseThrow().getUpvotes()).isEqualTo(2);
+    }
+
+    @Test
+    void writesDirectlyWhenTheBufferIsFull() {
+        ReflectionTestUtils.setField(buffer, "maxPending", 0);
+
+        // No flush needed: the vote is committed before vote() returns
+        assertThat(buffer.vote(complaint.getId(), resident().getId())).isEqualTo(1);
+        assertThatThrownBy(() -> buffer.vote(complaint.getId(), -1L)).hasMessage("Complaint or user not found");
+    }
+
+    @Test
+    void aVoteThatTimesOutIsWithdrawn() {
+        ReflectionTestUtils.setField(buffer, "ackTimeoutMs", 50L);
+
+        assertThatThrownBy(() -> buffer.vote(complaint.getId(), resident().getId()))
+                .hasMessage("Vote could not be recorded, please retry.");
+        buffer.flush();
+
+        assertThat(pendingCount().get()).isZero();
+        assertThat(complaintRepository.findById(complaint.getId()).orElseThrow().getUpvotes()).isZero();
+    }
+
+    private CompletableFuture<Integer> voteAsync(User voter) {
+        return CompletableFuture.supplyAsync(() -> buffer.vote(complaint.getId(), voter.getId()),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    private void awaitPending(int votes) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pendingCount().get() < votes) {
+            assertThat(System.currentTimeMillis()).as("votes waiting for a flush").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private AtomicInteger pendingCount() {
+        return (AtomicInteger) ReflectionTestUtils.getField(buffer, "pendingCount");
+    }
+
+    private User resident() {
+        return data.user(society, "RESIDENT");
+    }
+}
@@ -8,6 +8,12 @@ export default function ComplaintsPage() {
   const [isLoading, setIsLoading] = useState(true);
   const [searchTerm, setSearchTerm] = useState('');
   const [filterStatus, setFilterStatus] = useState('ALL');
+  // Server-side full-text search, best match first, one page at a time; null while the search box is empty
+  const [searchResults, setSearchResults] = useState(null);
+  const [searchCursor, setSearchCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+  // Bumped after a status change or assignment so the open search shows the new state
+  const [searchVersion, setSearchVersion] = useState(0);
 
   // New state to track which complaint's vendor dropdown is currently open
   const [assigningVendorFor, setAssigningVendorFor] = useState(null); 
@@ -16,13 +22,64 @@ export default function ComplaintsPage() {
     fetchData();
   }, []);
 
+  // Search results are summaries: give them the shape the cards read from full complaints
+  const toCard = (summary) => ({
+    ...summary,
+    user: { fullName: summary.userName },
+    assignedVendor: summary.assignedVendorId ? { id: summary.assignedVendorId, fullName: summary.assignedVendorName } : null,
+  });
+
+  const searchPage = (term, cursor) => api.get('/complaints/society/1/search', {
+    params: { q: term, status: filterStatus === 'ALL' ? undefined : filterStatus, cursor: cursor || undefined, limit: 20 },
+  });
+
+  // Debounced so typing doesn't fire a search per keystroke. The server filters by status too, so
+  // every match is reachable through "Load more", not just the complaints already on the page.
+  useEffect(() => {
+    const term = searchTerm.trim();
+    if (!term) {
+      setSearchResults(null);
+      setSearchCursor(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const res = await searchPage(term, null);
+        if (!cancelled) {
+          setSearchResults(res.data.items.map(toCard));
+          setSearchCursor(res.data.nextCursor);
+        }
+      } catch (err) {
+        console.error("Search failed:", err);
+      }
+    }, 300);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm, filterStatus, searchVersion]);
+
+  const loadMoreResults = async () => {
+    setIsLoadingMore(true);
+    try {
+      const res = await searchPage(searchTerm.trim(), searchCursor);
+      setSearchResults(prev => [...prev, ...res.data.items.map(toCard)]);
+      setSearchCursor(res.data.nextCursor);
+    } catch (err) {
+      console.error("Search failed:", err);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const fetchData = async () => {
     setIsLoading(true);
     try {
       // Assuming Admin belongs to society 1 for now
       const [complaintsRes, vendorsRes] = await Promise.all([
         api.get('/complaints/society/1'),
-        api.get('/users/role/VENDOR')
+        api.get('/users/society/1/role/VENDOR')
       ]);
       setComplaints(complaintsRes.data);
       setVendors(vendorsRes.data);
@@ -37,6 +94,7 @@ export default function ComplaintsPage() {
     try {
       await api.put(`/complaints/${id}/status`, null, { params: { status: newStatus } });
       fetchData(); // Refresh the list
+      setSearchVersion(v => v + 1);
     } catch (err) {
       alert("Failed to update status");
     }
@@ -47,6 +105,7 @@ export default function ComplaintsPage() {
       await api.put(`/complaints/${complaintId}/assign/${vendorId}`);
       setAssigningVendorFor(null); // Close the dropdown
       fetchData(); // Refresh to show IN_PROGRESS and assigned vendor
+      setSearchVersion(v => v + 1);
     } catch (err) {
       alert("Failed to assign vendor");
     }
@@ -70,12 +129,8 @@ export default function ComplaintsPage() {
     }
   };
 
-  const filteredComplaints = complaints.filter(c => {
-    const matchesSearch = c.title.toLowerCase().includes(searchTerm.toLowerCase()) || 
-                          c.description.toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesStatus = filterStatus === 'ALL' || c.status === filterStatus;
-    return matchesSearch && matchesStatus;
-  });
+  const filteredComplaints = searchResults
+    ?? complaints.filter(c => filterStatus === 'ALL' || c.status === filterStatus);
 
   if (isLoading) {
     return <div className="flex justify-center items-center h-64"><div className="animate-spin rounded-full h-8 w-8 border-b-2 border-indigo-600"></div></div>;
@@ -214,6 +269,18 @@ export default function ComplaintsPage() {
           </div>
         )}
       </div>
+
+      {searchResults && searchCursor && (
+        <div className="flex justify-center">
+          <button
+            onClick={loadMoreResults}
+            disabled={isLoadingMore}
+            className="px-6 py-2 bg-white border border-slate-200 rounded-lg text-sm font-semibold text-slate-700 hover:bg-slate-50 transition-colors shadow-sm disabled:opacity-50"
+          >
+            {isLoadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
\ No newline at end of file
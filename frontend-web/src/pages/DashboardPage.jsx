@@ -1,17 +1,59 @@
 import { useState, useEffect } from 'react';
 import { CheckCircle, Clock, AlertTriangle, AlertCircle } from 'lucide-react';
-import api from '../services/api';
+import api, { subscribeToComplaints } from '../services/api';
 
 export default function DashboardPage() {
   const [complaints, setComplaints] = useState([]);
+  const [stats, setStats] = useState(null);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState('');
 
-  // Fetch complaints when the page loads
+  // Fetch complaints when the page loads, then keep them current from the live event stream
   useEffect(() => {
     fetchComplaints();
+    fetchStats();
+    // At most one stats reload per half second, however busy the stream is (upvote storms)
+    let statsTimer = null;
+    const refreshStatsSoon = () => {
+      if (!statsTimer) {
+        statsTimer = setTimeout(() => {
+          statsTimer = null;
+          fetchStats();
+        }, 500);
+      }
+    };
+    const onChange = (type, summary) => {
+      applyChange(type, summary);
+      refreshStatsSoon();
+    };
+    const onResync = () => {
+      fetchComplaints();
+      refreshStatsSoon();
+    };
+    const unsubscribe = subscribeToComplaints(1, onChange, onResync);
+    return () => {
+      clearTimeout(statsTimer);
+      unsubscribe();
+    };
   }, []);
 
+  // Events carry the complaint's flat summary: merge it into the row we already have
+  const applyChange = (type, summary) => {
+    setComplaints((current) => {
+      const existing = current.find((c) => c.id === summary.id);
+      const user = existing?.user ?? { id: summary.userId, fullName: summary.userName, flatNo: summary.flatNo };
+      const assignedVendor = summary.assignedVendorId
+        ? { ...existing?.assignedVendor, id: summary.assignedVendorId, fullName: summary.assignedVendorName }
+        : null;
+      const updated = { ...existing, ...summary, user, assignedVendor };
+
+      if (!existing) {
+        return type === 'CREATED' ? [updated, ...current] : current;
+      }
+      return current.map((c) => (c.id === summary.id ? updated : c));
+    });
+  };
+
   const fetchComplaints = async () => {
     try {
       // For this step, we are fetching complaints for Society ID 1.
@@ -25,22 +67,34 @@ export default function DashboardPage() {
     }
   };
 
+  // The counters are precomputed on the server: one small request however many complaints there are
+  const fetchStats = async () => {
+    try {
+      const response = await api.get('/complaints/society/1/stats');
+      setStats(response.data);
+    } catch (err) {
+      console.error(err);
+    }
+  };
+
   const handleResolve = async (complaintId) => {
     try {
       // Call the Java backend to update the status
       await api.put(`/complaints/${complaintId}/status?status=RESOLVED`);
       // Refresh the list to show the new status
       fetchComplaints();
+      fetchStats();
     } catch (err) {
       alert('Failed to update complaint status.');
     }
   };
 
-  // Calculate dynamic stats for the top cards
-  const totalComplaints = complaints.length;
-  const resolvedCount = complaints.filter(c => c.status === 'RESOLVED').length;
-  const pendingCount = complaints.filter(c => c.status === 'PENDING_VERIFICATION').length;
-  const activeCount = complaints.filter(c => c.status === 'OPEN').length;
+  // Stats for the top cards
+  const byStatus = stats?.byStatus ?? {};
+  const totalComplaints = stats?.total ?? 0;
+  const resolvedCount = byStatus.RESOLVED ?? 0;
+  const pendingCount = byStatus.PENDING_VERIFICATION ?? 0;
+  const activeCount = byStatus.OPEN ?? 0;
 
   // Helper to color-code the status badges
   const getStatusBadge = (status) => {
@@ -18,4 +18,19 @@ api.interceptors.request.use(
     }
 );
 
-export default api;
\ No newline at end of file
+export default api;
+
+// Live complaint updates for a society (Server-Sent Events). The browser reconnects and resumes
+// on its own; onResync means some updates were missed and the list should be reloaded.
+export const subscribeToComplaints = (societyId, onChange, onResync) => {
+    const token = localStorage.getItem('token');
+    const url = `${api.defaults.baseURL}/complaints/society/${societyId}/events?access_token=${encodeURIComponent(token || '')}`;
+    const source = new EventSource(url);
+
+    ['CREATED', 'UPVOTED', 'STATUS_CHANGED', 'VENDOR_ASSIGNED'].forEach((type) => {
+        source.addEventListener(type, (event) => onChange(type, JSON.parse(event.data)));
+    });
+    source.addEventListener('resync', () => onResync());
+
+    return () => source.close();
+};
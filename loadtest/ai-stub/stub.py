@@ -0,0 +1,64 @@
+"""Stand-in for the AI service's /verify-video endpoint, for load tests.
+
+Answers like the real service after a configurable delay, without downloading anything or calling Gemini:
+  AI_LATENCY_MS         mean response time (default 2000)
+  AI_LATENCY_JITTER_MS  +/- uniform jitter around the mean (default 500)
+  AI_INVALID_RATE       share of verdicts that reject the complaint, 0..1 (default 0.1)
+  AI_ERROR_RATE         share of calls answered with HTTP 500, 0..1 (default 0)
+"""
+import json
+import os
+import random
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+LATENCY_MS = float(os.getenv("AI_LATENCY_MS", "2000"))
+JITTER_MS = float(os.getenv("AI_LATENCY_JITTER_MS", "500"))
+INVALID_RATE = float(os.getenv("AI_INVALID_RATE", "0.1"))
+ERROR_RATE = float(os.getenv("AI_ERROR_RATE", "0"))
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"  # keep-alive, like the real Flask service behind the pooled client
+
+    def do_POST(self):
+        if self.path != "/verify-video":
+            self.respond(404, {"error": "not found"})
+            return
+
+        length = int(self.headers.get("Content-Length", 0))
+        payload = json.loads(self.rfile.read(length) or b"{}")
+        if not payload.get("video_url") or not payload.get("category"):
+            self.respond(400, {"error": "video_url and category are required"})
+            return
+
+        time.sleep(max(0.0, LATENCY_MS + random.uniform(-JITTER_MS, JITTER_MS)) / 1000)
+
+        if random.random() < ERROR_RATE:
+            self.respond(500, {"error": "stubbed failure"})
+            return
+        is_valid = random.random() >= INVALID_RATE
+        self.respond(200, {
+            "is_valid": is_valid,
+            "confidence_score": random.randint(70, 99),
+            "ai_reasoning": "Stubbed verdict",
+        })
+
+    def do_GET(self):
+        self.respond(200, {"status": "ok"})
+
+    def respond(self, status, body):
+        data = json.dumps(body).encode()
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(data)))
+        self.end_headers()
+        self.wfile.write(data)
+
+    def log_message(self, *args):
+        pass  # One line per request would dominate the container logs under load
+
+
+if __name__ == "__main__":
+    print(f"AI stub on :5000 (latency {LATENCY_MS}+/-{JITTER_MS}ms, invalid {INVALID_RATE}, errors {ERROR_RATE})", flush=True)
+    ThreadingHTTPServer(("0.0.0.0", 5000), Handler).serve_forever()
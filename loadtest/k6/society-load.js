@@ -0,0 +1,246 @@
+// Realistic traffic mix against one society: residents reading the feed, posting complaints (each one
+// queues an AI check), upvote storms on a few hot complaints, and media uploads. A sampler scrapes
+// /actuator/prometheus every second so the report shows pool saturation next to the latencies.
+//
+// Tune with environment variables (see ../README.md): BASE_URL, METRICS_URL, RESIDENTS, DURATION, FEED_RATE,
+// COMPLAINT_RATE, VOTE_RATE, UPLOAD_RATE, UPLOAD_KB.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import exec from 'k6/execution';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const API = `${BASE_URL}/api`;
+// The actuator runs on its own port (management.server.port)
+const METRICS_URL = __ENV.METRICS_URL || 'http://localhost:8081';
+const RESIDENTS = Number(__ENV.RESIDENTS || 200);
+const HOT_COMPLAINTS = Number(__ENV.HOT_COMPLAINTS || 20);
+const DURATION = __ENV.DURATION || '2m';
+const UPLOAD_BYTES = Number(__ENV.UPLOAD_KB || 512) * 1024;
+
+// Sampled from the backend's own metrics
+const hikariActive = new Trend('pool_hikari_active');
+const hikariPending = new Trend('pool_hikari_pending');
+const hikariAcquireMs = new Trend('pool_hikari_acquire_avg_ms');
+const aiQueued = new Trend('pool_ai_verification_queued');
+
+const rate = (name, fallback) => Number(__ENV[name] || fallback);
+
+function constantRate(exec, ratePerSecond, maxVUs) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec,
+        rate: ratePerSecond,
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: Math.min(maxVUs, ratePerSecond * 2),
+        maxVUs,
+    };
+}
+
+export const options = {
+    setupTimeout: '10m',
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(99)', 'max'],
+    scenarios: {
+        feed: constantRate('readFeed', rate('FEED_RATE', 100), 500),
+        complaints: constantRate('postComplaint', rate('COMPLAINT_RATE', 10), 200),
+        // Upvote storm: ramps to a burst of votes on the same handful of complaints
+        votes: {
+            executor: 'ramping-arrival-rate',
+            exec: 'upvote',
+            startRate: 0,
+            timeUnit: '1s',
+            preAllocatedVUs: 100,
+            maxVUs: 1000,
+            stages: [
+                { target: rate('VOTE_RATE', 300), duration: '30s' },
+                { target: rate('VOTE_RATE', 300), duration: DURATION },
+                { target: 0, duration: '10s' },
+            ],
+        },
+        uploads: constantRate('upload', rate('UPLOAD_RATE', 5), 200),
+        pools: {
+            executor: 'constant-vus',
+            exec: 'samplePools',
+            vus: 1,
+            duration: DURATION,
+        },
+    },
+    // Also makes k6 report every scenario's latency on its own in the summary
+    thresholds: {
+        'http_req_duration{scenario:feed}': ['p(99)<1000'],
+        'http_req_duration{scenario:complaints}': ['p(99)<2000'],
+        'http_req_duration{scenario:votes}': ['p(99)<1000'],
+        'http_req_duration{scenario:uploads}': ['p(99)<5000'],
+        'http_req_failed{scenario:feed}': ['rate<0.01'],
+        'http_req_failed{scenario:complaints}': ['rate<0.01'],
+        'http_req_failed{scenario:votes}': ['rate<0.01'],
+        'http_req_failed{scenario:uploads}': ['rate<0.01'],
+        'http_reqs{scenario:feed}': ['count>0'],
+        'http_reqs{scenario:complaints}': ['count>0'],
+        'http_reqs{scenario:votes}': ['count>0'],
+        'http_reqs{scenario:uploads}': ['count>0'],
+    },
+};
+
+const json = (token) => ({
+    headers: {
+        'Content-Type': 'application/json',
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+});
+
+// One society, its residents (with tokens) and the hot complaints the upvote storm targets
+export function setup() {
+    const runId = Date.now();
+    const society = http.post(`${API}/societies/register`,
+        JSON.stringify({ name: `Load Test Society ${runId}`, address: 'Load test lane' }), json());
+    check(society, { 'society registered': (r) => r.status === 200 });
+    const societyId = society.json('id');
+
+    const residents = [];
+    for (let i = 0; i < RESIDENTS; i++) {
+        const email = `resident-${runId}-${i}@loadtest.local`;
+        const registered = http.post(`${API}/users/register`, JSON.stringify({
+            fullName: `Resident ${i}`, email, password: 'load-test-password', role: 'RESIDENT',
+            societyId, flatNo: `L-${i}`, phoneNumber: '0000000000',
+        }), json());
+        // "User registered successfully: <id>"
+        const userId = Number(String(registered.body).split(':').pop());
+        const login = http.post(`${API}/users/login`, JSON.stringify({ email, password: 'load-test-password' }), json());
+        if (check(login, { 'resident logged in': (r) => r.status === 200 })) {
+            residents.push({ userId, token: login.json('token') });
+        }
+    }
+
+    const hot = [];
+    for (let i = 0; i < HOT_COMPLAINTS; i++) {
+        const author = residents[i % residents.length];
+        const created = http.post(`${API}/complaints`, complaintBody(societyId, i), json(author.token));
+        hot.push(created.json('id'));
+    }
+    return { societyId, residents, hot };
+}
+
+// Random reference words keep every post distinct enough not to be merged as a duplicate of an earlier one
+const refs = () => Array.from({ length: 8 }, () => Math.random().toString(36).slice(2, 8)).join(' ');
+
+// The author is whoever's token posts it
+function complaintBody(societyId, n) {
+    return JSON.stringify({
+        societyId,
+        title: `Lift stuck between floors (${n})`,
+        description: `The lift in wing B stopped between the 3rd and 4th floor this morning. Refs: ${refs()}`,
+        category: 'ELECTRICAL',
+        severity: ['LOW', 'MEDIUM', 'HIGH', 'EMERGENCY'][n % 4],
+        // Media means an AI check is queued for every post; unique URLs so the verdict cache doesn't hide the AI latency
+        imageUrl: `http://minio:9000/media/loadtest-${Date.now()}-${n}.mp4`,
+    });
+}
+
+const resident = (data) => data.residents[Math.floor(Math.random() * data.residents.length)];
+
+export function readFeed(data) {
+    const r = resident(data);
+    // Mostly the first page, sometimes the full list (the old polling path)
+    const url = Math.random() < 0.8
+        ? `${API}/complaints/society/${data.societyId}/feed?limit=20`
+        : `${API}/complaints/society/${data.societyId}`;
+    check(http.get(url, json(r.token)), { 'feed 200': (res) => res.status === 200 });
+}
+
+export function postComplaint(data) {
+    const r = resident(data);
+    const res = http.post(`${API}/complaints`, complaintBody(data.societyId, exec.scenario.iterationInTest), json(r.token));
+    check(res, { 'complaint 200': (x) => x.status === 200 });
+}
+
+// Every (resident, complaint) pair votes once: walk residents first, then move on to the next hot complaint
+export function upvote(data) {
+    const n = exec.scenario.iterationInTest;
+    const voter = data.residents[n % data.residents.length];
+    const complaintId = data.hot[Math.floor(n / data.residents.length) % data.hot.length];
+    // Once every pair has voted, "already voted" (400) answers are expected and not counted as failures
+    const res = http.post(`${API}/complaints/${complaintId}/upvote`, null,
+        { ...json(voter.token), responseCallback: http.expectedStatuses(200, 400) });
+    check(res, { 'vote accepted': (x) => x.status === 200 || String(x.body).includes('already voted') });
+}
+
+const payload = new Uint8Array(UPLOAD_BYTES).map((_, i) => i % 251).buffer;
+
+export function upload(data) {
+    const r = resident(data);
+    const res = http.post(`${API}/storage/upload-stream`, payload, {
+        headers: {
+            Authorization: `Bearer ${r.token}`,
+            'Content-Type': 'video/mp4',
+            'X-File-Name': 'clip.mp4',
+        },
+        timeout: '60s',
+    });
+    check(res, { 'upload 200': (x) => x.status === 200 });
+}
+
+// Pool saturation from the backend's Prometheus endpoint, once a second
+export function samplePools() {
+    const res = http.get(`${METRICS_URL}/actuator/prometheus`, { tags: { name: 'prometheus' } });
+    if (res.status === 200) {
+        const text = String(res.body);
+        hikariActive.add(metric(text, 'hikaricp_connections_active'));
+        hikariPending.add(metric(text, 'hikaricp_connections_pending'));
+        const acquireCount = metric(text, 'hikaricp_connections_acquire_seconds_count');
+        if (acquireCount > 0) {
+            hikariAcquireMs.add(metric(text, 'hikaricp_connections_acquire_seconds_sum') / acquireCount * 1000);
+        }
+        aiQueued.add(metric(text, 'executor_queued_tasks', 'name="aiVerificationExecutor"'));
+    }
+    sleep(1);
+}
+
+// Sums every series of a metric (all pools), optionally only those carrying a given label
+function metric(text, name, label = '') {
+    let total = 0;
+    for (const line of text.split('\n')) {
+        if ((line.startsWith(name + '{') || line.startsWith(name + ' ')) && line.includes(label)) {
+            total += Number(line.substring(line.lastIndexOf(' ') + 1));
+        }
+    }
+    return total;
+}
+
+export function handleSummary(data) {
+    const m = data.metrics;
+    const row = (scenario) => {
+        const d = m[`http_req_duration{scenario:${scenario}}`];
+        const reqs = m[`http_reqs{scenario:${scenario}}`];
+        const failed = m[`http_req_failed{scenario:${scenario}}`];
+        if (!d || !reqs) {
+            return `${scenario.padEnd(12)} (no requests)`;
+        }
+        return `${scenario.padEnd(12)}${reqs.values.rate.toFixed(1).padStart(10)} req/s`
+            + `${d.values.med.toFixed(1).padStart(10)} ms${d.values['p(99)'].toFixed(1).padStart(10)} ms`
+            + `${(failed.values.rate * 100).toFixed(2).padStart(9)} %`;
+    };
+    const pool = (name) => {
+        const t = m[name];
+        return t ? `${name.padEnd(28)} avg ${t.values.avg.toFixed(1)}  p99 ${t.values['p(99)'].toFixed(1)}  max ${t.values.max.toFixed(1)}` : `${name.padEnd(28)} (not sampled)`;
+    };
+
+    const report = [
+        '',
+        'scenario       throughput        p50         p99   errors',
+        ...['feed', 'complaints', 'votes', 'uploads'].map(row),
+        '',
+        'pool saturation (sampled every second from /actuator/prometheus)',
+        pool('pool_hikari_active'),
+        pool('pool_hikari_pending'),
+        pool('pool_hikari_acquire_avg_ms'),
+        pool('pool_ai_verification_queued'),
+        '',
+    ].join('\n');
+
+    return {
+        stdout: report,
+        [__ENV.SUMMARY_FILE || 'results/summary.json']: JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Builds the backend, starts it with local stand-ins (docker-compose.yml) and runs the k6 traffic mix.
+# Every knob in README.md is read from the environment, e.g.:
+#   AI_LATENCY_MS=5000 DB_POOL_SIZE=20 DURATION=5m ./run.sh
+# Pass --keep to leave the stack running afterwards.
+set -euo pipefail
+cd "$(dirname "$0")"
+
+KEEP=false
+[[ "${1:-}" == "--keep" ]] && KEEP=true
+
+(cd ../backend && ./mvnw -q -B package -DskipTests)
+
+docker compose up -d
+if [[ "$KEEP" == false ]]; then
+  trap 'docker compose down -v' EXIT
+fi
+
+echo "Waiting for the backend..."
+for _ in $(seq 1 120); do
+  if curl -fs http://localhost:8081/actuator/health > /dev/null; then
+    break
+  fi
+  sleep 1
+done
+curl -fs http://localhost:8081/actuator/health > /dev/null || { docker compose logs backend | tail -50; exit 1; }
+
+mkdir -p k6/results
+docker run --rm --network host \
+  -v "$PWD/k6:/scripts" -w /scripts \
+  -e BASE_URL -e METRICS_URL -e RESIDENTS -e HOT_COMPLAINTS -e DURATION \
+  -e FEED_RATE -e COMPLAINT_RATE -e VOTE_RATE -e UPLOAD_RATE -e UPLOAD_KB -e SUMMARY_FILE \
+  grafana/k6 run society-load.js